@@ -25,6 +25,8 @@ package ml.karmaconfigs.api.bukkit.server;
  *  SOFTWARE.
  */
 
+import ml.karmaconfigs.api.common.utils.string.util.SemanticVersion;
+
 /**
  * Valid versions
  */
@@ -83,5 +85,26 @@ public enum Version {
     /** Minecraft 1.18 version */ v1_18,
     /** Minecraft 1.18.1 version */ v1_18_1,
     /** Minecraft 1.18.2 version */ v1_18_2,
-    /** Minecraft 1.18.3 version */ v1_18_3,
+    /** Minecraft 1.18.3 version */ v1_18_3;
+
+    /**
+     * The parsed version
+     */
+    private final SemanticVersion semantic;
+
+    /**
+     * Initialize the version
+     */
+    Version() {
+        this.semantic = SemanticVersion.parse(name().substring(1).replace('_', '.'));
+    }
+
+    /**
+     * Get the parsed version
+     *
+     * @return the parsed version
+     */
+    public SemanticVersion toSemantic() {
+        return this.semantic;
+    }
 }
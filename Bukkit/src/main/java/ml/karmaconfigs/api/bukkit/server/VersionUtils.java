@@ -25,9 +25,7 @@ package ml.karmaconfigs.api.bukkit.server;
  *  SOFTWARE.
  */
 
-import ml.karmaconfigs.api.common.utils.string.ComparatorBuilder;
-import ml.karmaconfigs.api.common.utils.string.StringUtils;
-import ml.karmaconfigs.api.common.utils.string.VersionComparator;
+import ml.karmaconfigs.api.common.utils.string.util.SemanticVersion;
 import ml.karmaconfigs.api.common.utils.string.util.VersionDiff;
 import org.bukkit.Bukkit;
 import org.bukkit.Server;
@@ -43,6 +41,28 @@ public final class VersionUtils {
 
     private final static Server server = Bukkit.getServer();
 
+    /**
+     * The server bukkit version, it does not change
+     * while the server is running
+     */
+    private final static String bukkitVersion = server.getBukkitVersion();
+
+    /**
+     * The server bukkit version parts
+     */
+    private final static String[] versionData = bukkitVersion.split("-");
+
+    /**
+     * The parsed server version
+     */
+    private final static SemanticVersion serverVersion = SemanticVersion.parse(versionData[0]);
+
+    /**
+     * The server version in enumeration type, null
+     * until it has been resolved
+     */
+    private static Version enumVersion = null;
+
     /**
      * Get the full version string of
      * the server
@@ -50,7 +70,7 @@ public final class VersionUtils {
      * @return a String
      */
     public static String getRealVersion() {
-        return server.getBukkitVersion();
+        return bukkitVersion;
     }
 
     /**
@@ -60,7 +80,7 @@ public final class VersionUtils {
      * @return a String
      */
     public static String getFullVersion() {
-        return server.getBukkitVersion().split("-")[0];
+        return versionData[0];
     }
 
     /**
@@ -69,7 +89,7 @@ public final class VersionUtils {
      * @return a string
      */
     public static String getPackageType() {
-        return server.getBukkitVersion().split("-")[2];
+        return versionData[2];
     }
 
     /**
@@ -78,7 +98,7 @@ public final class VersionUtils {
      * @return a string
      */
     public static String getPackageBuild() {
-        return server.getBukkitVersion().split("-")[1];
+        return versionData[1];
     }
 
     /**
@@ -87,11 +107,7 @@ public final class VersionUtils {
      * @return a float
      */
     public static float getVersion() {
-        String[] versionData = server.getBukkitVersion().split("-");
-        String version_head = versionData[0].split("\\.")[0];
-        String version_sub = versionData[0].split("\\.")[1];
-
-        return Float.parseFloat(version_head + "." + version_sub);
+        return Float.parseFloat(serverVersion.getPart(0) + "." + serverVersion.getPart(1));
     }
 
     /**
@@ -101,25 +117,34 @@ public final class VersionUtils {
      * @return an integer
      */
     public static int getVersionUpdate() {
-        String[] versionData = server.getBukkitVersion().split("-");
-        String version = versionData[0];
-        versionData = version.split("\\.");
-        if (versionData.length >= 3) {
-            return Integer.parseInt(versionData[2]);
-        }
+        if (versionData[0].split("\\.").length >= 3)
+            return serverVersion.getPart(2);
+
         return -1;
     }
 
+    /**
+     * Get the parsed server version
+     *
+     * @return the parsed server version
+     */
+    public static SemanticVersion getSemanticVersion() {
+        return serverVersion;
+    }
+
     /**
      * Get the version in enumeration type
      *
      * @return a Version instance
      */
     public static Version version() {
-        String full = getFullVersion();
-        full = "v" + full.replace(".", "_");
+        Version version = enumVersion;
+        if (version == null) {
+            version = Version.valueOf("v" + getFullVersion().replace(".", "_"));
+            enumVersion = version;
+        }
 
-        return Version.valueOf(full);
+        return version;
     }
 
     /**
@@ -131,15 +156,7 @@ public final class VersionUtils {
      * specified one
      */
     public static boolean isOver(final Version version) {
-        String current_version = version().name().replace("v", "").replace("_", ".");
-        String check_version = version.name().replace("v", "").replace("_", ".");
-
-        ComparatorBuilder builder = VersionComparator.createBuilder()
-                .currentVersion(current_version)
-                .checkVersion(check_version);
-        VersionComparator comparator = StringUtils.compareTo(builder);
-
-        return comparator.getDifference().equals(VersionDiff.OVERDATED);
+        return serverVersion.difference(version.toSemantic()).equals(VersionDiff.OVERDATED);
     }
 
     /**
@@ -150,15 +167,7 @@ public final class VersionUtils {
      * specified one
      */
     public static boolean isUpdated(final Version version) {
-        String current_version = version().name().replace("v", "").replace("_", ".");
-        String check_version = version.name().replace("v", "").replace("_", ".");
-
-        ComparatorBuilder builder = VersionComparator.createBuilder()
-                .currentVersion(current_version)
-                .checkVersion(check_version);
-        VersionComparator comparator = StringUtils.compareTo(builder);
-
-        return comparator.getDifference().equals(VersionDiff.UPDATED);
+        return serverVersion.difference(version.toSemantic()).equals(VersionDiff.UPDATED);
     }
 
     /**
@@ -170,15 +179,7 @@ public final class VersionUtils {
      * specified one
      */
     public static boolean isUnder(final Version v) {
-        String current_version = version().name().replace("v", "").replace("_", ".");
-        String check_version = v.name().replace("v", "").replace("_", ".");
-
-        ComparatorBuilder builder = VersionComparator.createBuilder()
-                .currentVersion(current_version)
-                .checkVersion(check_version);
-        VersionComparator comparator = StringUtils.compareTo(builder);
-
-        return comparator.getDifference().equals(VersionDiff.OUTDATED);
+        return serverVersion.difference(v.toSemantic()).equals(VersionDiff.OUTDATED);
     }
 
     /**
@@ -35,6 +35,7 @@ import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Karma console
@@ -45,6 +46,10 @@ public final class Console {
      * The custom message actions
      */
     private final static Map<KarmaSource, Consumer<String>> messageActions = new ConcurrentHashMap<>();
+    /**
+     * The console minimum levels
+     */
+    private final static Map<KarmaSource, Level> minimumLevels = new ConcurrentHashMap<>();
     /**
      * The console source
      */
@@ -83,6 +88,34 @@ public final class Console {
         return new PrefixConsoleData(this.source);
     }
 
+    /**
+     * Set the console minimum level, messages with a
+     * lower level are ignored before being formatted
+     *
+     * @param level the console minimum level, null to
+     *              send all the levels
+     * @return this instance
+     */
+    public Console minimumLevel(final Level level) {
+        if (level == null) {
+            minimumLevels.remove(this.source);
+        } else {
+            minimumLevels.put(this.source, level);
+        }
+        return this;
+    }
+
+    /**
+     * Get if the console will send the specified level
+     *
+     * @param level the message level
+     * @return if the level is sent
+     */
+    public boolean isEnabled(final @NotNull Level level) {
+        Level minimum = minimumLevels.get(this.source);
+        return minimum == null || level.ordinal() >= minimum.ordinal();
+    }
+
     /**
      * Send a message to the console
      *
@@ -107,12 +140,7 @@ public final class Console {
     public void send(final String message, final Object... replaces) {
         Consumer<String> messageAction = messageActions.getOrDefault(source, null);
 
-        String tmpMessage = message;
-        for (int i = 0; i < replaces.length; i++) {
-            String placeholder = "{" + i + "}";
-            String value = replaces[i].toString();
-            tmpMessage = tmpMessage.replace(placeholder, value);
-        }
+        String tmpMessage = StringUtils.formatString(message, replaces);
         if (messageAction == null) {
             System.out.println("\033[0m" + StringUtils.toConsoleColor(tmpMessage) + "\033[0m");
         } else {
@@ -127,6 +155,9 @@ public final class Console {
      * @param level the message level
      */
     public void send(final @NotNull String message, final @NotNull Level level) {
+        if (!isEnabled(level))
+            return;
+
         Consumer<String> messageAction = messageActions.getOrDefault(source, null);
 
         String tmpMessage = message;
@@ -170,6 +201,9 @@ public final class Console {
      * @param replaces the message replaces
      */
     public void send(final @NotNull String message, final @NotNull Level level, final @NotNull Object... replaces) {
+        if (!isEnabled(level))
+            return;
+
         Consumer<String> messageAction = messageActions.getOrDefault(source, null);
 
         String tmpMessage = message;
@@ -189,12 +223,7 @@ public final class Console {
                 prefix = data.getGravePrefix();
                 break;
         }
-        for (int i = 0; i < replaces.length; i++) {
-            String placeholder = "{" + i + "}";
-            String value = replaces[i].toString();
-            tmpMessage = tmpMessage.replace(placeholder, value);
-        }
-        tmpMessage = StringUtils.stripColor(tmpMessage);
+        tmpMessage = StringUtils.stripColor(StringUtils.formatString(tmpMessage, replaces));
         if (messageAction == null) {
             if (tmpMessage.contains("\n")) {
                 for (String msg : tmpMessage.split("\n"))
@@ -209,4 +238,29 @@ public final class Console {
             messageAction.accept(prefix + tmpMessage);
         }
     }
+
+    /**
+     * Send a message to the console, the message is
+     * only built if the level is sent
+     *
+     * @param message the message supplier
+     * @param level the message level
+     */
+    public void sendLazy(final @NotNull Supplier<String> message, final @NotNull Level level) {
+        if (isEnabled(level))
+            send(message.get(), level);
+    }
+
+    /**
+     * Send a message to the console, the message replaces
+     * are only built if the level is sent
+     *
+     * @param message the message to send
+     * @param level the message level
+     * @param replaces the message replaces supplier
+     */
+    public void sendLazy(final @NotNull String message, final @NotNull Level level, final @NotNull Supplier<Object[]> replaces) {
+        if (isEnabled(level))
+            send(message, level, replaces.get());
+    }
 }
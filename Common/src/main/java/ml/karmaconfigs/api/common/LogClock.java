@@ -0,0 +1,157 @@
+package ml.karmaconfigs.api.common;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Karma logger clock. Caches the formatted time of the
+ * current second, so logging an entry does not need to
+ * create a calendar or format the time again
+ */
+final class LogClock {
+
+    /**
+     * The milliseconds of a day
+     */
+    private final static long DAY = TimeUnit.DAYS.toMillis(1);
+
+    /**
+     * The time formatting buffer, HH:mm:ss
+     */
+    private final static char[] buffer = {'0', '0', ':', '0', '0', ':', '0', '0'};
+
+    /**
+     * The clock time zone
+     */
+    private static volatile TimeZone zone = TimeZone.getDefault();
+
+    /**
+     * The latest formatted second
+     */
+    private static volatile Second cached = new Second(Long.MIN_VALUE, "");
+
+    /**
+     * Get the local day of the specified time
+     *
+     * @param now the time
+     * @return the time local day number
+     */
+    static long day(final long now) {
+        return Math.floorDiv(local(now), DAY);
+    }
+
+    /**
+     * Get the start of the local day of the specified time
+     *
+     * @param now the time
+     * @return the local day start millis
+     */
+    static long start(final long now) {
+        return now - Math.floorMod(local(now), DAY);
+    }
+
+    /**
+     * Get the formatted local time of the specified
+     * time, as HH:mm:ss
+     *
+     * @param now the time
+     * @return the formatted time
+     */
+    static String time(final long now) {
+        long second = Math.floorDiv(local(now), 1000L);
+        Second current = cached;
+        if (current.second == second)
+            return current.text;
+
+        synchronized (buffer) {
+            int ofDay = (int) Math.floorMod(second, 86400L);
+            write(0, ofDay / 3600);
+            write(3, (ofDay / 60) % 60);
+            write(6, ofDay % 60);
+
+            String text = new String(buffer);
+            cached = new Second(second, text);
+            return text;
+        }
+    }
+
+    /**
+     * Reload the clock time zone
+     */
+    static void refresh() {
+        zone = TimeZone.getDefault();
+    }
+
+    /**
+     * Get the local time of the specified time
+     *
+     * @param now the time
+     * @return the local time
+     */
+    private static long local(final long now) {
+        return now + zone.getOffset(now);
+    }
+
+    /**
+     * Write a two digits number into the buffer
+     *
+     * @param index the buffer index
+     * @param value the number
+     */
+    private static void write(final int index, final int value) {
+        buffer[index] = (char) ('0' + value / 10);
+        buffer[index + 1] = (char) ('0' + value % 10);
+    }
+
+    /**
+     * Karma logger clock formatted second
+     */
+    private final static class Second {
+
+        /**
+         * The second
+         */
+        private final long second;
+
+        /**
+         * The formatted second
+         */
+        private final String text;
+
+        /**
+         * Initialize the formatted second
+         *
+         * @param value the second
+         * @param format the formatted second
+         */
+        Second(final long value, final String format) {
+            this.second = value;
+            this.text = format;
+        }
+    }
+}
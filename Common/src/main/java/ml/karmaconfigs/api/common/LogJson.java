@@ -0,0 +1,246 @@
+package ml.karmaconfigs.api.common;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import ml.karmaconfigs.api.common.utils.enums.Level;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Karma logger JSON lines encoder. Writes each log
+ * entry as a single line JSON object directly into
+ * a string builder
+ */
+final class LogJson {
+
+    /**
+     * Hexadecimal digits used to escape control characters
+     */
+    private final static char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Encode a log entry
+     *
+     * @param now the log time
+     * @param level the log level
+     * @param source the log source name
+     * @param message the log message, with {n} placeholders
+     * @param args the log message arguments
+     * @return the encoded log entry
+     */
+    static String encode(final long now, final Level level, final String source, final String message, final Object[] args) {
+        String[] values = new String[args.length];
+        int length = message.length() + source.length() + 64;
+        for (int i = 0; i < args.length; i++) {
+            values[i] = value(args[i]);
+            length += values[i].length() * 2 + 3;
+        }
+
+        StringBuilder builder = new StringBuilder(length);
+        head(builder, now, level, source);
+        builder.append(",\"message\":\"");
+        render(builder, message, values);
+        builder.append("\",\"args\":[");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0)
+                builder.append(',');
+            string(builder, values[i]);
+        }
+        return builder.append("]}").toString();
+    }
+
+    /**
+     * Encode a log error entry
+     *
+     * @param now the log time
+     * @param level the log level
+     * @param source the log source name
+     * @param error the log error
+     * @return the encoded log entry
+     */
+    static String encode(final long now, final Level level, final String source, final Throwable error) {
+        StringBuilder builder = new StringBuilder(1024);
+        head(builder, now, level, source);
+        builder.append(",\"message\":");
+        string(builder, String.valueOf(error));
+        builder.append(",\"args\":[],\"stack\":[");
+
+        Set<Throwable> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        boolean first = true;
+        Throwable current = error;
+        while (current != null) {
+            if (!visited.add(current)) {
+                builder.append(',');
+                string(builder, "[CIRCULAR REFERENCE: " + current + "]");
+                break;
+            }
+
+            if (current != error) {
+                if (!first)
+                    builder.append(',');
+                string(builder, "Caused by: " + current);
+                first = false;
+            }
+            for (StackTraceElement element : current.getStackTrace()) {
+                if (!first)
+                    builder.append(',');
+                string(builder, element.toString());
+                first = false;
+            }
+
+            current = current.getCause();
+        }
+        return builder.append("]}").toString();
+    }
+
+    /**
+     * Encode a dropped entries warning
+     *
+     * @param now the warning time
+     * @param amount the amount of dropped entries
+     * @return the encoded warning
+     */
+    static String dropped(final long now, final long amount) {
+        StringBuilder builder = new StringBuilder(128);
+        builder.append("{\"time\":").append(now).append(",\"level\":\"WARNING\",\"message\":\"");
+        builder.append(amount).append(" log entries were dropped because the log queue was full\",\"dropped\":").append(amount);
+        return builder.append('}').toString();
+    }
+
+    /**
+     * Append the common entry fields
+     *
+     * @param builder the entry builder
+     * @param now the log time
+     * @param level the log level
+     * @param source the log source name
+     */
+    private static void head(final StringBuilder builder, final long now, final Level level, final String source) {
+        builder.append("{\"time\":").append(now).append(",\"level\":\"").append(level.name()).append("\",\"source\":");
+        string(builder, source);
+    }
+
+    /**
+     * Append the message, replacing its {n} placeholders
+     * with the escaped arguments in a single pass
+     *
+     * @param builder the entry builder
+     * @param message the message
+     * @param values the arguments
+     */
+    private static void render(final StringBuilder builder, final String message, final String[] values) {
+        int length = message.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            if (message.charAt(i) != '{')
+                continue;
+
+            int end = i + 1;
+            int index = 0;
+            while (end < length && end - i <= 9 && Character.isDigit(message.charAt(end)))
+                index = index * 10 + (message.charAt(end++) - '0');
+
+            if (end > i + 1 && end < length && message.charAt(end) == '}' && index < values.length) {
+                escape(builder, message, start, i);
+                escape(builder, values[index], 0, values[index].length());
+                start = end + 1;
+                i = end;
+            }
+        }
+        escape(builder, message, start, length);
+    }
+
+    /**
+     * Append a quoted and escaped JSON string
+     *
+     * @param builder the entry builder
+     * @param value the string
+     */
+    private static void string(final StringBuilder builder, final String value) {
+        builder.append('"');
+        escape(builder, value, 0, value.length());
+        builder.append('"');
+    }
+
+    /**
+     * Append the escaped section of a string
+     *
+     * @param builder the entry builder
+     * @param value the string
+     * @param from the section start
+     * @param to the section end
+     */
+    private static void escape(final StringBuilder builder, final String value, final int from, final int to) {
+        int start = from;
+        for (int i = from; i < to; i++) {
+            char character = value.charAt(i);
+            if (character >= 0x20 && character != '"' && character != '\\')
+                continue;
+
+            builder.append(value, start, i);
+            switch (character) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    builder.append("\\u00").append(HEX[character >> 4]).append(HEX[character & 0xF]);
+            }
+            start = i + 1;
+        }
+        builder.append(value, start, to);
+    }
+
+    /**
+     * Get the string value of an argument
+     *
+     * @param arg the argument
+     * @return the argument value
+     */
+    private static String value(final Object arg) {
+        if (arg == null)
+            return "[unknown]";
+
+        try {
+            return arg.toString();
+        } catch (Throwable ex) {
+            return arg.getClass().getName() + '@' + Integer.toHexString(System.identityHashCode(arg));
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package ml.karmaconfigs.api.common;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import ml.karmaconfigs.api.common.karma.KarmaSource;
+import ml.karmaconfigs.api.common.utils.LogRotation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Karma logger maintenance. Rolls, compresses and
+ * prunes log files on a background thread
+ */
+final class LogMaintenance {
+
+    /**
+     * The compressed log files extension
+     */
+    private final static String COMPRESSED = ".gz";
+
+    /**
+     * The interval at which the log directories
+     * are pruned
+     */
+    private final static long PRUNE_INTERVAL = TimeUnit.MINUTES.toMillis(10);
+
+    /**
+     * A map containing logs directory => source => rotation policy
+     */
+    private final static Map<Path, Map<KarmaSource, LogRotation>> policies = new ConcurrentHashMap<>();
+
+    /**
+     * A map containing logs directory => merged rotation policy
+     */
+    private final static Map<Path, LogRotation> directories = new ConcurrentHashMap<>();
+
+    /**
+     * The maintenance worker
+     */
+    private final static ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "KarmaAPI-LogMaintenance");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    static {
+        worker.scheduleWithFixedDelay(() -> directories.forEach(LogMaintenance::prune), PRUNE_INTERVAL, PRUNE_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Register a source rotation policy. The sources share
+     * the logs directory, so the rotation applies to the whole
+     * directory using the most generous policy of all the
+     * registered sources
+     *
+     * @param directory the logs directory
+     * @param source the policy source
+     * @param rotation the rotation policy, null to remove
+     *                 the source policy
+     */
+    static void register(final Path directory, final KarmaSource source, final LogRotation rotation) {
+        Map<KarmaSource, LogRotation> sources = policies.computeIfAbsent(directory, path -> new ConcurrentHashMap<>());
+        LogRotation previous = (rotation == null ? sources.remove(source) : sources.put(source, rotation));
+        if (previous == rotation)
+            return;
+
+        LogRotation current = directories.get(directory);
+        LogRotation merged = merge(sources.values());
+        if (merged == null) {
+            directories.remove(directory);
+            return;
+        }
+
+        directories.put(directory, merged);
+        if (current == null || !same(current, merged))
+            worker.execute(() -> prune(directory, merged));
+    }
+
+    /**
+     * Get the rotation policy of a logs directory
+     *
+     * @param directory the logs directory
+     * @return the logs directory rotation policy, null
+     * if no source has set a rotation policy
+     */
+    static LogRotation policy(final Path directory) {
+        return directories.get(directory);
+    }
+
+    /**
+     * Merge rotation policies, keeping the highest limits,
+     * where 0 means no limit, and only compressing if all
+     * the policies compress
+     *
+     * @param rotations the rotation policies
+     * @return the merged rotation policy, null if there
+     * are no policies
+     */
+    private static LogRotation merge(final Collection<LogRotation> rotations) {
+        if (rotations.isEmpty())
+            return null;
+
+        long maxSize = -1L;
+        long maxAge = -1L;
+        int maxFiles = -1;
+        boolean compress = true;
+        for (LogRotation rotation : rotations) {
+            maxSize = (maxSize == 0L || rotation.getMaxSize() == 0L ? 0L : Math.max(maxSize, rotation.getMaxSize()));
+            maxAge = (maxAge == 0L || rotation.getMaxAge() == 0L ? 0L : Math.max(maxAge, rotation.getMaxAge()));
+            maxFiles = (maxFiles == 0 || rotation.getMaxFiles() == 0 ? 0 : Math.max(maxFiles, rotation.getMaxFiles()));
+            compress = compress && rotation.isCompressed();
+        }
+
+        return new LogRotation()
+                .withMaxSize(maxSize)
+                .withMaxAge(maxAge, TimeUnit.MILLISECONDS)
+                .withMaxFiles(maxFiles)
+                .withCompression(compress);
+    }
+
+    /**
+     * Get if two rotation policies have the same limits
+     *
+     * @param first the first policy
+     * @param second the second policy
+     * @return if the policies are the same
+     */
+    private static boolean same(final LogRotation first, final LogRotation second) {
+        return first.getMaxSize() == second.getMaxSize()
+                && first.getMaxAge() == second.getMaxAge()
+                && first.getMaxFiles() == second.getMaxFiles()
+                && first.isCompressed() == second.isCompressed();
+    }
+
+    /**
+     * Move a log file away so a new one can be started,
+     * and compress it in background
+     *
+     * @param file the log file
+     * @param directory the logs directory
+     * @param rotation the rotation policy
+     * @throws IOException if the file could not be moved
+     */
+    static void roll(final Path file, final Path directory, final LogRotation rotation) throws IOException {
+        Path rolled = Files.move(file, segment(file), StandardCopyOption.ATOMIC_MOVE);
+        worker.execute(() -> {
+            if (rotation.isCompressed())
+                compress(rolled);
+            if (directory != null)
+                prune(directory, rotation);
+        });
+    }
+
+    /**
+     * Get the next free segment name of a log file, being
+     * day.ext rolled to day.1.ext, day.2.ext...
+     *
+     * @param file the log file
+     * @return the log file next segment
+     */
+    private static Path segment(final Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = (dot == -1 ? name : name.substring(0, dot));
+        String extension = (dot == -1 ? "" : name.substring(dot));
+
+        int index = 1;
+        Path segment;
+        do {
+            segment = file.resolveSibling(base + "." + index++ + extension);
+        } while (Files.exists(segment) || Files.exists(segment.resolveSibling(segment.getFileName() + COMPRESSED)));
+
+        return segment;
+    }
+
+    /**
+     * Get if a log file is already a segment, being
+     * named day.N.ext
+     *
+     * @param file the log file
+     * @return if the log file is a segment
+     */
+    private static boolean segmented(final Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = (dot == -1 ? name : name.substring(0, dot));
+        int index = base.lastIndexOf('.');
+        if (index == -1 || index == base.length() - 1)
+            return false;
+
+        for (int i = index + 1; i < base.length(); i++) {
+            char character = base.charAt(i);
+            if (character < '0' || character > '9')
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gzip a log file, replacing it with the
+     * compressed one
+     *
+     * @param file the log file
+     */
+    private static void compress(final Path file) {
+        Path target = file.resolveSibling(file.getFileName() + COMPRESSED);
+        try (InputStream in = Files.newInputStream(file); OutputStream out = new GZIPOutputStream(Files.newOutputStream(target), 65536)) {
+            byte[] buffer = new byte[65536];
+            int read;
+            while ((read = in.read(buffer)) != -1)
+                out.write(buffer, 0, read);
+        } catch (Throwable ex) {
+            ex.printStackTrace();
+            try {
+                Files.deleteIfExists(target);
+            } catch (Throwable ignored) {}
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (Throwable ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Compress the previous days log files and remove
+     * the log files that exceed the rotation policy
+     *
+     * @param directory the logs directory
+     * @param rotation the rotation policy
+     */
+    private static void prune(final Path directory, final LogRotation rotation) {
+        if (!Files.isDirectory(directory))
+            return;
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(directory)) {
+            files = stream.filter(Files::isRegularFile).filter(file -> !LogWriter.isOpen(file)).collect(Collectors.toList());
+        } catch (Throwable ex) {
+            ex.printStackTrace();
+            return;
+        }
+
+        long today = today();
+        if (rotation.isCompressed()) {
+            List<Path> compressed = new ArrayList<>();
+            for (Path file : files) {
+                if (!file.getFileName().toString().endsWith(COMPRESSED) && modified(file) < today) {
+                    Path target = (segmented(file) ? file : segment(file));
+                    try {
+                        if (target != file)
+                            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+                        compress(target);
+                        compressed.add(target.resolveSibling(target.getFileName() + COMPRESSED));
+                    } catch (Throwable ex) {
+                        ex.printStackTrace();
+                        compressed.add(file);
+                    }
+                } else {
+                    compressed.add(file);
+                }
+            }
+            files = compressed;
+        }
+
+        long now = System.currentTimeMillis();
+        List<Path> kept = new ArrayList<>();
+        for (Path file : files) {
+            if (rotation.getMaxAge() > 0L && now - modified(file) > rotation.getMaxAge()) {
+                delete(file, directory);
+            } else {
+                kept.add(file);
+            }
+        }
+
+        if (rotation.getMaxFiles() > 0 && kept.size() > rotation.getMaxFiles()) {
+            kept.sort((a, b) -> Long.compare(modified(b), modified(a)));
+            for (Path file : kept.subList(rotation.getMaxFiles(), kept.size()))
+                delete(file, directory);
+        }
+    }
+
+    /**
+     * Remove a log file and its parent directories
+     * if they are left empty
+     *
+     * @param file the log file
+     * @param directory the logs directory
+     */
+    private static void delete(final Path file, final Path directory) {
+        try {
+            Files.deleteIfExists(file);
+
+            Path parent = file.getParent();
+            while (parent != null && !parent.equals(directory) && parent.startsWith(directory)) {
+                try (Stream<Path> children = Files.list(parent)) {
+                    if (children.findAny().isPresent())
+                        break;
+                }
+                Files.deleteIfExists(parent);
+                parent = parent.getParent();
+            }
+        } catch (Throwable ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Get a file last modification time
+     *
+     * @param file the file
+     * @return the file last modification time
+     */
+    private static long modified(final Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (Throwable ex) {
+            return 0L;
+        }
+    }
+
+    /**
+     * Get the start of the current day
+     *
+     * @return the current day start millis
+     */
+    private static long today() {
+        return LogClock.start(System.currentTimeMillis());
+    }
+}
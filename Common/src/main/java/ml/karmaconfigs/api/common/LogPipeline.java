@@ -0,0 +1,282 @@
+package ml.karmaconfigs.api.common;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import ml.karmaconfigs.api.common.utils.enums.Level;
+import ml.karmaconfigs.api.common.utils.enums.LogOverflow;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Karma logger pipeline. Log entries are published into a
+ * bounded lock-free ring buffer by any thread, and written
+ * in batches by a single consumer thread
+ */
+final class LogPipeline {
+
+    /**
+     * The ring buffer capacity, must be a power of two
+     */
+    private final static int CAPACITY = 8192;
+
+    /**
+     * The ring buffer index mask
+     */
+    private final static int MASK = CAPACITY - 1;
+
+    /**
+     * The maximum amount of entries written before
+     * looking for new entries
+     */
+    private final static int BATCH = 512;
+
+    /**
+     * The amount of overflowing entries a sample
+     * keeps one of
+     */
+    private final static int SAMPLE_RATE = 16;
+
+    /**
+     * The maximum time to wait for the pipeline
+     * to be drained
+     */
+    private final static long DRAIN_TIMEOUT = TimeUnit.SECONDS.toNanos(5);
+
+    /**
+     * The ring buffer entries
+     */
+    private final static AtomicReferenceArray<Entry> slots = new AtomicReferenceArray<>(CAPACITY);
+
+    /**
+     * The ring buffer slots sequence, a slot is ready to be
+     * written when its sequence matches the write position
+     * and ready to be read when it matches the read position + 1
+     */
+    private final static AtomicLongArray sequence = new AtomicLongArray(CAPACITY);
+
+    /**
+     * The next write position
+     */
+    private final static AtomicLong tail = new AtomicLong();
+
+    /**
+     * The amount of entries written by the consumer
+     */
+    private final static AtomicLong consumed = new AtomicLong();
+
+    /**
+     * The amount of overflowing entries, used
+     * for sampling
+     */
+    private final static AtomicLong overflows = new AtomicLong();
+
+    /**
+     * The consumer thread
+     */
+    private final static Thread consumer;
+
+    /**
+     * If the consumer thread is waiting for entries
+     */
+    private static volatile boolean sleeping = false;
+
+    static {
+        for (int i = 0; i < CAPACITY; i++)
+            sequence.set(i, i);
+
+        consumer = new Thread(LogPipeline::consume, "KarmaAPI-LogPipeline");
+        consumer.setDaemon(true);
+        consumer.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            drain();
+            LogWriter.closeAll();
+        }, "KarmaAPI-LogShutdown"));
+    }
+
+    /**
+     * Submit a log entry
+     *
+     * @param writer the entry log writer
+     * @param level the entry level
+     * @param text the entry text
+     * @param policy the overflow policy
+     */
+    static void submit(final LogWriter writer, final Level level, final String text, final LogOverflow policy) {
+        Entry entry = new Entry(writer, text);
+        if (offer(entry)) {
+            wake();
+            return;
+        }
+
+        if (Thread.currentThread() == consumer || !consumer.isAlive()) {
+            writer.write(text);
+            return;
+        }
+
+        switch (policy) {
+            case DROP_LOWEST:
+                if (level.ordinal() < Level.WARNING.ordinal()) {
+                    writer.dropped();
+                    return;
+                }
+                break;
+            case SAMPLE:
+                if (overflows.incrementAndGet() % SAMPLE_RATE != 0) {
+                    writer.dropped();
+                    return;
+                }
+                break;
+            case BLOCK:
+            default:
+                break;
+        }
+
+        while (!offer(entry)) {
+            wake();
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+        }
+        wake();
+    }
+
+    /**
+     * Wait until all the entries submitted before this
+     * call have been written, and flush the log files
+     */
+    static void drain() {
+        if (Thread.currentThread() != consumer) {
+            long target = tail.get();
+            long deadline = System.nanoTime() + DRAIN_TIMEOUT;
+            while (consumed.get() < target && consumer.isAlive() && System.nanoTime() < deadline) {
+                wake();
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+
+        LogWriter.flushAll();
+    }
+
+    /**
+     * Try to publish an entry into the ring buffer
+     *
+     * @param entry the entry
+     * @return if the entry could be published
+     */
+    private static boolean offer(final Entry entry) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & MASK);
+            long difference = sequence.get(index) - position;
+
+            if (difference == 0L) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, entry);
+                    sequence.set(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0L) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Wake up the consumer thread if it's
+     * waiting for entries
+     */
+    private static void wake() {
+        if (sleeping)
+            LockSupport.unpark(consumer);
+    }
+
+    /**
+     * Consume the ring buffer entries
+     */
+    private static void consume() {
+        long head = 0L;
+        while (true) {
+            int written = 0;
+            while (written < BATCH) {
+                int index = (int) (head & MASK);
+                if (sequence.get(index) != head + 1)
+                    break;
+
+                Entry entry = slots.get(index);
+                slots.lazySet(index, null);
+                sequence.set(index, head + CAPACITY);
+                head++;
+                written++;
+
+                try {
+                    entry.writer.write(entry.text);
+                } catch (Throwable ex) {
+                    ex.printStackTrace();
+                }
+            }
+
+            if (written > 0) {
+                consumed.set(head);
+                continue;
+            }
+
+            sleeping = true;
+            if (sequence.get((int) (head & MASK)) != head + 1)
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+            sleeping = false;
+        }
+    }
+
+    /**
+     * Karma logger pipeline entry
+     */
+    private final static class Entry {
+
+        /**
+         * The entry log writer
+         */
+        private final LogWriter writer;
+
+        /**
+         * The entry text
+         */
+        private final String text;
+
+        /**
+         * Initialize the entry
+         *
+         * @param target the entry log writer
+         * @param content the entry text
+         */
+        Entry(final LogWriter target, final String content) {
+            this.writer = target;
+            this.text = content;
+        }
+    }
+}
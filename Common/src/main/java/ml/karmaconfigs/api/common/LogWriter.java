@@ -0,0 +1,361 @@
+package ml.karmaconfigs.api.common;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import ml.karmaconfigs.api.common.utils.LogRotation;
+import ml.karmaconfigs.api.common.utils.enums.LogExtension;
+import ml.karmaconfigs.api.common.utils.file.PathUtilities;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Karma logger file writer. Keeps the log file open in
+ * append mode, so each entry costs a buffered write instead
+ * of a full file rewrite
+ */
+final class LogWriter {
+
+    /**
+     * The log writer buffer size, when filled the buffer
+     * is written to the file
+     */
+    private final static int BUFFER_SIZE = 32768;
+
+    /**
+     * The interval at which the buffered entries are
+     * written to the file
+     */
+    private final static long FLUSH_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+
+    /**
+     * The time after which an unused log file is closed
+     */
+    private final static long IDLE_CLOSE = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * The time after which an unused log writer is forgotten
+     */
+    private final static long IDLE_FORGET = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * A map containing log file => writer
+     */
+    private final static Map<Path, LogWriter> writers = new ConcurrentHashMap<>();
+
+    /**
+     * The log writers flusher
+     */
+    private final static ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "KarmaAPI-LogFlusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        flusher.scheduleWithFixedDelay(LogWriter::flushAll, FLUSH_INTERVAL, FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The log file
+     */
+    private final Path file;
+
+    /**
+     * The log file format
+     */
+    private final LogExtension extension;
+
+    /**
+     * The log file header
+     */
+    private final String header;
+
+    /**
+     * The logs directory
+     */
+    private final Path directory;
+
+    /**
+     * The log file writer, null while the file is closed
+     */
+    private BufferedWriter writer = null;
+
+    /**
+     * The log file size in bytes, including buffered data
+     */
+    private long size = 0L;
+
+    /**
+     * The amount of entries written since the
+     * file has been opened
+     */
+    private long entries = 0L;
+
+    /**
+     * If the writer has data that has not been
+     * flushed yet
+     */
+    private boolean dirty = false;
+
+    /**
+     * The amount of entries dropped since the
+     * last written entry
+     */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * The last time the writer has been used
+     */
+    private volatile long lastUse = System.currentTimeMillis();
+
+    /**
+     * If the writer has been forgotten, a forgotten
+     * writer passes its entries to the current writer
+     * of its file
+     */
+    private volatile boolean forgotten = false;
+
+    /**
+     * Initialize the log writer
+     *
+     * @param log the log file
+     * @param format the log file format
+     * @param head the log file header
+     * @param logs the logs directory
+     */
+    private LogWriter(final Path log, final LogExtension format, final String head, final Path logs) {
+        this.file = log;
+        this.extension = format;
+        this.header = head;
+        this.directory = logs;
+    }
+
+    /**
+     * Get the writer of the specified log file
+     *
+     * @param log the log file
+     * @param format the log file format
+     * @param head the header to write if the log
+     *             file is new
+     * @param logs the logs directory
+     * @return the log file writer
+     */
+    static LogWriter of(final Path log, final LogExtension format, final String head, final Path logs) {
+        return writers.computeIfAbsent(log, path -> new LogWriter(path, format, head, logs));
+    }
+
+    /**
+     * Get if the log file is being used by a writer
+     *
+     * @param log the log file
+     * @return if the log file is in use
+     */
+    static boolean isOpen(final Path log) {
+        return writers.containsKey(log);
+    }
+
+    /**
+     * Write a log entry
+     *
+     * @param entry the entry to write
+     */
+    synchronized void write(final String entry) {
+        if (this.forgotten) {
+            of(this.file, this.extension, this.header, this.directory).write(entry);
+            return;
+        }
+
+        this.lastUse = System.currentTimeMillis();
+        try {
+            if (this.writer == null)
+                open();
+
+            long length = length(entry) + 1;
+            LogRotation policy = LogMaintenance.policy(this.directory);
+            if (policy != null && policy.getMaxSize() > 0L && this.entries > 0L && this.size + length > policy.getMaxSize()) {
+                close();
+                LogMaintenance.roll(this.file, this.directory, policy);
+                open();
+            }
+
+            long lost = this.dropped.getAndSet(0L);
+            if (lost > 0L) {
+                String warning;
+                if (this.extension == LogExtension.JSON) {
+                    warning = LogJson.dropped(this.lastUse, lost);
+                } else {
+                    warning = "[ WARNING ] " + lost + " log entries were dropped because the log queue was full<br>";
+                }
+                this.writer.write(warning);
+                this.writer.write('\n');
+                this.size += length(warning) + 1;
+            }
+
+            this.writer.write(entry);
+            this.writer.write('\n');
+            this.size += length;
+            this.entries++;
+            this.dirty = true;
+        } catch (Throwable ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Mark an entry as dropped
+     */
+    void dropped() {
+        this.dropped.incrementAndGet();
+    }
+
+    /**
+     * Write the buffered entries to the file
+     */
+    synchronized void flush() {
+        if (this.writer != null && this.dirty) {
+            try {
+                this.writer.flush();
+            } catch (Throwable ex) {
+                ex.printStackTrace();
+            }
+            this.dirty = false;
+        }
+    }
+
+    /**
+     * Write the buffered entries and close the file
+     */
+    synchronized void close() {
+        if (this.writer != null) {
+            try {
+                this.writer.close();
+            } catch (Throwable ex) {
+                ex.printStackTrace();
+            }
+            this.writer = null;
+            this.dirty = false;
+        }
+    }
+
+    /**
+     * Forget the writer, closing its file. Entries
+     * written to it later go to a new writer
+     */
+    synchronized void forget() {
+        this.forgotten = true;
+        writers.remove(this.file, this);
+        close();
+    }
+
+    /**
+     * Get if the writer has been forgotten
+     *
+     * @return if the writer has been forgotten
+     */
+    boolean isForgotten() {
+        return this.forgotten;
+    }
+
+    /**
+     * Open the log file in append mode, writing
+     * the header if the file is new
+     *
+     * @throws IOException if the file could not be opened
+     */
+    private void open() throws IOException {
+        PathUtilities.create(this.file);
+        this.size = Files.size(this.file);
+        this.entries = 0L;
+
+        this.writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(this.file, StandardOpenOption.CREATE, StandardOpenOption.APPEND), StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (this.size == 0L && this.header != null) {
+            this.writer.write(this.header);
+            this.size = length(this.header);
+        }
+    }
+
+    /**
+     * Flush all the log writers, closing the
+     * ones that are not being used
+     */
+    static void flushAll() {
+        long now = System.currentTimeMillis();
+        for (LogWriter writer : writers.values()) {
+            long idle = now - writer.lastUse;
+            if (idle > IDLE_FORGET) {
+                writer.forget();
+            } else if (idle > IDLE_CLOSE) {
+                writer.close();
+            } else {
+                writer.flush();
+            }
+        }
+    }
+
+    /**
+     * Get the UTF-8 encoded length of a text
+     *
+     * @param text the text
+     * @return the text length in bytes
+     */
+    private static long length(final String text) {
+        long length = 0L;
+        for (int i = 0; i < text.length(); i++) {
+            char character = text.charAt(i);
+            if (character < 0x80) {
+                length++;
+            } else if (character < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(character) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Close all the log writers
+     */
+    static void closeAll() {
+        for (LogWriter writer : writers.values())
+            writer.close();
+    }
+}
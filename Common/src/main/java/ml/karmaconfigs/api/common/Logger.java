@@ -28,19 +28,22 @@ package ml.karmaconfigs.api.common;
 import ml.karmaconfigs.api.common.karma.APISource;
 import ml.karmaconfigs.api.common.karma.KarmaAPI;
 import ml.karmaconfigs.api.common.karma.KarmaSource;
+import ml.karmaconfigs.api.common.utils.LogRotation;
 import ml.karmaconfigs.api.common.utils.string.StringUtils;
 import ml.karmaconfigs.api.common.utils.enums.Level;
 import ml.karmaconfigs.api.common.utils.enums.LogCalendar;
 import ml.karmaconfigs.api.common.utils.enums.LogExtension;
-import ml.karmaconfigs.api.common.utils.file.PathUtilities;
+import ml.karmaconfigs.api.common.utils.enums.LogOverflow;
 import org.jetbrains.annotations.NotNull;
 
-import java.io.BufferedWriter;
 import java.io.Serializable;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.*;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Karma logger
@@ -55,6 +58,22 @@ public final class Logger implements Serializable {
      * A map that contains source => log file extension type
      */
     private static final Map<KarmaSource, LogExtension> ext_type = new HashMap<>();
+    /**
+     * A map that contains source => log overflow policy
+     */
+    private static final Map<KarmaSource, LogOverflow> overflow_type = new ConcurrentHashMap<>();
+    /**
+     * A map that contains source => log rotation policy
+     */
+    private static final Map<KarmaSource, LogRotation> rotation_type = new ConcurrentHashMap<>();
+    /**
+     * A map that contains source => minimum log level
+     */
+    private static final Map<KarmaSource, Level> minimum_level = new ConcurrentHashMap<>();
+    /**
+     * A map that contains source => current log day
+     */
+    private static final Map<KarmaSource, LogDay> days = new ConcurrentHashMap<>();
     /**
      * A map that contains source => log header
      */
@@ -105,6 +124,7 @@ public final class Logger implements Serializable {
      */
     public Logger calendar(LogCalendar calendar) {
         calendar_type.put(this.source, calendar);
+        days.remove(this.source);
         return this;
     }
 
@@ -116,9 +136,69 @@ public final class Logger implements Serializable {
      */
     public Logger extension(LogExtension extension) {
         ext_type.put(this.source, extension);
+        days.remove(this.source);
+        return this;
+    }
+
+    /**
+     * Set the logger rotation policy. All the sources share
+     * the logs directory, so the rotation applies to the whole
+     * directory using the most generous policy of all the
+     * sources
+     *
+     * @param rotation the logger rotation policy, null to
+     *                 remove it
+     * @return this instance
+     */
+    public Logger rotation(final LogRotation rotation) {
+        if (rotation == null) {
+            rotation_type.remove(this.source);
+        } else {
+            rotation_type.put(this.source, rotation);
+        }
+        days.remove(this.source);
+        return this;
+    }
+
+    /**
+     * Set the logger behaviour when its queue is full
+     *
+     * @param policy the logger overflow policy
+     * @return this instance
+     */
+    public Logger overflow(final LogOverflow policy) {
+        overflow_type.put(this.source, policy);
         return this;
     }
 
+    /**
+     * Set the logger minimum level, logs with a
+     * lower level are ignored before being formatted
+     *
+     * @param level the logger minimum level, null
+     *              to log all the levels
+     * @return this instance
+     */
+    public Logger minimumLevel(final Level level) {
+        if (level == null) {
+            minimum_level.remove(this.source);
+        } else {
+            minimum_level.put(this.source, level);
+        }
+        return this;
+    }
+
+    /**
+     * Get if the logger will log the specified level
+     *
+     * @param level the log level
+     * @return if the level is logged
+     */
+    public boolean isEnabled(final @NotNull Level level) {
+        Level minimum = minimum_level.get(this.source);
+        return minimum == null || level.ordinal() >= minimum.ordinal();
+    }
+
     /**
      * Schedule a new log
      *
@@ -127,31 +207,21 @@ public final class Logger implements Serializable {
      * @param replaces the log replaces
      */
     public void scheduleLog(final @NotNull Level level, final @NotNull String info, final @NotNull Object... replaces) {
-        APISource.asyncScheduler().queue(() -> {
-            LogExtension extension = ext_type.getOrDefault(this.source, LogExtension.MARKDOWN);
-            Calendar calendar = ((LogCalendar) calendar_type.getOrDefault(this.source, LogCalendar.GREGORIAN)).getType();
-            String time = String.format("%02d",
-                    calendar.get(Calendar.HOUR_OF_DAY)) + ":" +
-                    String.format("%02d", calendar.get(Calendar.MINUTE)) + ":" +
-                    String.format("%02d", calendar.get(Calendar.SECOND));
-            String year = String.valueOf(calendar.get(Calendar.YEAR));
-            String month = calendar.getDisplayName(Calendar.MONTH, Calendar.LONG, Locale.getDefault());
-            String day = String.valueOf(calendar.get(Calendar.DATE));
-            Path log = APISource.getSource().getDataPath().resolve("logs").resolve(year).resolve(month).resolve(day + "." + extension.fileExtension());
-            PathUtilities.create(log);
-            try {
-                List<String> lines = removeHeader(Files.readAllLines(log));
-                BufferedWriter writer = Files.newBufferedWriter(log, StandardCharsets.UTF_8);
-                writer.write(header.get(this.source));
-                for (String line : lines)
-                    writer.write(line + "\n");
-                writer.write(StringUtils.formatString("[ {0} - {1} ] {2}<br>", level.name(), time, StringUtils.formatString(info, replaces)));
-                writer.flush();
-                writer.close();
-            } catch (Throwable ex) {
-                ex.printStackTrace();
-            }
-        });
+        if (!isEnabled(level))
+            return;
+
+        long now = System.currentTimeMillis();
+        LogDay day = day(now);
+        if (day.extension == LogExtension.JSON) {
+            submit(day.writer, level, LogJson.encode(now, level, this.source.name(), info, replaces));
+            return;
+        }
+
+        String message = StringUtils.formatString(info, replaces);
+
+        StringBuilder builder = new StringBuilder(message.length() + 32);
+        prefix(builder, level, now).append(message).append("<br>");
+        submit(day.writer, level, builder.toString());
     }
 
     /**
@@ -161,58 +231,146 @@ public final class Logger implements Serializable {
      * @param info the log info
      */
     public void scheduleLog(final @NotNull Level level, final @NotNull Throwable info) {
-        APISource.asyncScheduler().queue(() -> {
-            LogExtension extension = ext_type.getOrDefault(this.source, LogExtension.MARKDOWN);
-            Calendar calendar = ((LogCalendar) calendar_type.getOrDefault(this.source, LogCalendar.GREGORIAN)).getType();
-            String time = String.format("%02d",
-                    calendar.get(Calendar.HOUR_OF_DAY)) + ":" +
-                    String.format("%02d", calendar.get(Calendar.MINUTE)) + ":" +
-                    String.format("%02d", calendar.get(Calendar.SECOND));
-            String year = String.valueOf(calendar.get(Calendar.YEAR));
-            String month = calendar.getDisplayName(Calendar.MONTH, Calendar.LONG, Locale.getDefault());
-            String day = String.valueOf(calendar.get(Calendar.DATE));
-            Path log = APISource.getSource().getDataPath().resolve("logs").resolve(year).resolve(month).resolve(day + "." + extension.fileExtension());
-            PathUtilities.create(log);
-            try {
-                List<String> lines = removeHeader(Files.readAllLines(log));
-                BufferedWriter writer = Files.newBufferedWriter(log, StandardCharsets.UTF_8);
-                writer.write(header.get(this.source));
-                for (String line : lines)
-                    writer.write(line + "\n");
-                Throwable prefix = new Throwable(info);
-                writer.write(StringUtils.formatString("[ {0} - {1} ] {2}\n", level.name(), time, prefix.fillInStackTrace()));
-                writer.write("```java\n");
-                for (StackTraceElement element : info.getStackTrace())
-                    writer.write(element + "\n");
-                writer.write("```");
-                writer.flush();
-                writer.close();
-            } catch (Throwable ex) {
-                ex.printStackTrace();
-            }
-        });
-    }
-
-    /**
-     * Remove the log file header
+        if (!isEnabled(level))
+            return;
+
+        long now = System.currentTimeMillis();
+        LogDay day = day(now);
+        if (day.extension == LogExtension.JSON) {
+            submit(day.writer, level, LogJson.encode(now, level, this.source.name(), info));
+            return;
+        }
+
+        Throwable prefix = new Throwable(info);
+        StringBuilder builder = new StringBuilder();
+        prefix(builder, level, now).append(prefix.fillInStackTrace()).append("\n");
+        builder.append("```java\n");
+        for (StackTraceElement element : info.getStackTrace())
+            builder.append(element).append("\n");
+        builder.append("```");
+        submit(day.writer, level, builder.toString());
+    }
+
+    /**
+     * Schedule a new log, the log info is only
+     * built if the level is logged
+     *
+     * @param level the log level
+     * @param info the log info supplier
+     */
+    public void scheduleLogLazy(final @NotNull Level level, final @NotNull Supplier<String> info) {
+        if (isEnabled(level))
+            scheduleLog(level, info.get());
+    }
+
+    /**
+     * Schedule a new log, the log replaces are only
+     * built if the level is logged
+     *
+     * @param level the log level
+     * @param info the log info
+     * @param replaces the log replaces supplier
+     */
+    public void scheduleLogLazy(final @NotNull Level level, final @NotNull String info, final @NotNull Supplier<Object[]> replaces) {
+        if (isEnabled(level))
+            scheduleLog(level, info, replaces.get());
+    }
+
+    /**
+     * Submit a log entry to the logger pipeline
+     *
+     * @param writer the log writer
+     * @param level the log level
+     * @param entry the log entry
+     */
+    private void submit(final LogWriter writer, final Level level, final String entry) {
+        LogPipeline.submit(writer, level, entry, overflow_type.getOrDefault(this.source, LogOverflow.BLOCK));
+    }
+
+    /**
+     * Append the log entry prefix
+     *
+     * @param builder the log entry builder
+     * @param level the log level
+     * @param now the log time
+     * @return the log entry builder
+     */
+    private static StringBuilder prefix(final StringBuilder builder, final Level level, final long now) {
+        return builder.append("[ ").append(level.name()).append(" - ").append(LogClock.time(now)).append(" ] ");
+    }
+
+    /**
+     * Get the log day of the specified time. The day is
+     * cached until it changes or its writer is forgotten
      *
-     * @param lines the file lines
-     * @return the log file lines without header
-     */
-    private List<String> removeHeader(final List<String> lines) {
-        List<String> copy = new ArrayList<>();
-        boolean begone = false;
-        for (String line : lines) {
-            if (begone) {
-                copy.add(line);
-                continue;
-            }
-            if (line.startsWith("# Beginning of log<br><br>"))
-                begone = true;
+     * @param now the log time
+     * @return the log day
+     */
+    private LogDay day(final long now) {
+        long day = LogClock.day(now);
+        LogDay cached = days.get(this.source);
+        if (cached != null && cached.day == day && !cached.writer.isForgotten())
+            return cached;
+
+        LogClock.refresh();
+        day = LogClock.day(now);
+
+        LogExtension extension = ext_type.getOrDefault(this.source, LogExtension.MARKDOWN);
+        Calendar calendar = calendar_type.getOrDefault(this.source, LogCalendar.GREGORIAN).getType();
+        calendar.setTimeInMillis(now);
+        String year = String.valueOf(calendar.get(Calendar.YEAR));
+        String month = calendar.getDisplayName(Calendar.MONTH, Calendar.LONG, Locale.getDefault());
+        String date = String.valueOf(calendar.get(Calendar.DATE));
+        Path logs = APISource.getSource().getDataPath().resolve("logs");
+        Path log = logs.resolve(year).resolve(month).resolve(date + "." + extension.fileExtension());
+
+        LogMaintenance.register(logs, this.source, rotation_type.get(this.source));
+
+        LogWriter writer = LogWriter.of(log, extension, (extension == LogExtension.JSON ? null : header.get(this.source)), logs);
+        LogDay current = new LogDay(day, extension, writer);
+        days.put(this.source, current);
+        return current;
+    }
+
+    /**
+     * Write all the pending logs to their files, waiting
+     * for the queued logs to be written
+     */
+    public static void flush() {
+        LogPipeline.drain();
+    }
+
+    /**
+     * Karma logger day, the log format and writer of a day
+     */
+    private final static class LogDay {
+
+        /**
+         * The local day number
+         */
+        private final long day;
+
+        /**
+         * The day log format
+         */
+        private final LogExtension extension;
+
+        /**
+         * The day log writer
+         */
+        private final LogWriter writer;
+
+        /**
+         * Initialize the log day
+         *
+         * @param number the local day number
+         * @param format the day log format
+         * @param target the day log writer
+         */
+        LogDay(final long number, final LogExtension format, final LogWriter target) {
+            this.day = number;
+            this.extension = format;
+            this.writer = target;
         }
-        if (copy.size() > 1 &&
-                StringUtils.isNullOrEmpty(copy.get(0)) && StringUtils.isNullOrEmpty(copy.get(1)))
-            copy.remove(0);
-        return copy;
     }
 }
@@ -26,6 +26,7 @@ package ml.karmaconfigs.api.common.karma;
  */
 
 import ml.karmaconfigs.api.common.Console;
+import ml.karmaconfigs.api.common.Logger;
 import ml.karmaconfigs.api.common.timer.scheduler.SimpleScheduler;
 import ml.karmaconfigs.api.common.utils.string.StringUtils;
 import ml.karmaconfigs.api.common.utils.file.FileUtilities;
@@ -127,10 +128,12 @@ public interface KarmaSource extends Serializable {
     }
 
     /**
-     * Stop all the source tasks
+     * Stop all the source tasks and write
+     * its pending logs
      */
     default void stopTasks() {
         SimpleScheduler.cancelFor(this);
+        Logger.flush();
     }
 
     /**
@@ -885,6 +885,20 @@ public final class KarmaYamlManager {
         return StringUtils.loadUnsafe(getString(path));
     }
 
+    /**
+     * Get an object instance, the type and the
+     * types of its package are allowed
+     *
+     * @param path the instance string key
+     * @param type the instance type
+     * @param <T> the instance type
+     * @return the instance object
+     */
+    @Nullable
+    public <T> T getInstance(final String path, final Class<T> type) {
+        return StringUtils.load(getString(path), type);
+    }
+
     /**
      * Get a section of the yaml
      *
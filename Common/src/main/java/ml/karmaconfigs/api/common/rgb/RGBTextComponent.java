@@ -28,32 +28,74 @@ package ml.karmaconfigs.api.common.rgb;
 import ml.karmaconfigs.api.common.utils.string.StringUtils;
 
 import java.io.Serializable;
-import java.lang.reflect.Method;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
- * RGB text component for bukkit/bungee/velocity
+ * RGB text component for bukkit/bungee/velocity. Supports
+ * #rrggbb, rgb(r,g,b) and &lt;gradient:#rrggbb:#rrggbb&gt;text&lt;/gradient&gt;
+ * codes, gradients need hex parsing to be enabled
  */
 public final class RGBTextComponent implements Serializable {
 
     /**
-     * Parse simple rgb
+     * The maximum amount of cached parsed messages
      */
-    private final boolean parseSimple;
+    private final static int CACHE_SIZE = 512;
+
     /**
-     * Parse hex rgb
+     * The hexadecimal digits
      */
-    private final boolean parseHEX;
+    private final static char[] HEX = "0123456789abcdef".toCharArray();
 
     /**
-     * Hex pattern
+     * The parsed messages cache
      */
-    private final Pattern hexPattern = Pattern.compile("#[a-fA-f0-9]{6}");
+    private final static Map<String, String> cache = Collections.synchronizedMap(new LinkedHashMap<String, String>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    });
+
     /**
-     * RGB pattern
+     * The rendered gradients cache
      */
-    private final Pattern simplePattern = Pattern.compile("rgb\\([0-9]{1,3},[0-9]{1,3},[0-9]{1,3}\\)", 2);
+    private final static Map<String, String> gradients = Collections.synchronizedMap(new LinkedHashMap<String, String>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    });
+
+    /**
+     * The gradient open tag
+     */
+    private final static String GRADIENT_OPEN = "<gradient:";
+
+    /**
+     * The gradient close tag
+     */
+    private final static String GRADIENT_CLOSE = "</gradient>";
+
+    /**
+     * The platform hex color resolver, null if the
+     * platform has no hex color support
+     */
+    private final static MethodHandle colorOf = resolveColor();
+
+    /**
+     * Parse simple rgb
+     */
+    private final boolean parseSimple;
+    /**
+     * Parse hex rgb
+     */
+    private final boolean parseHEX;
 
     /**
      * Initialize the RGB text component
@@ -73,128 +115,299 @@ public final class RGBTextComponent implements Serializable {
      * @return the parsed message
      */
     public String parse(String message) {
-        if (this.parseHEX || this.parseSimple)
-            try {
-                if (this.parseSimple) {
-                    Matcher simpleMatcher = this.simplePattern.matcher(message);
-                    while (simpleMatcher.find()) {
-                        String un_parsed = message.substring(simpleMatcher.start(), simpleMatcher.end());
-                        un_parsed = StringUtils.replaceLast(un_parsed.replaceFirst("\\(", ""), ")", "");
-                        String[] rgb = un_parsed.split(",");
-                        int red = Integer.parseInt(rgb[0]);
-                        int green = Integer.parseInt(rgb[1]);
-                        int blue = Integer.parseInt(rgb[2]);
-                        message = message.replace(un_parsed, rgbToHex(red, green, blue));
-                        simpleMatcher = this.simplePattern.matcher(message);
-                    }
-                }
-                if (this.parseHEX) {
-                    Matcher hexMatcher = this.hexPattern.matcher(message);
-                    while (hexMatcher.find()) {
-                        String hex = message.substring(hexMatcher.start(), hexMatcher.end());
-                        message = message.replace(hex, hexToColor(hex));
-                        hexMatcher = this.hexPattern.matcher(message);
-                    }
-                }
-            } catch (Throwable ignored) {
-            }
-        return StringUtils.toColor(message);
+        if (!this.parseHEX && !this.parseSimple)
+            return StringUtils.toColor(message);
+
+        String key = (this.parseSimple ? (this.parseHEX ? '3' : '1') : '2') + message;
+        String parsed = cache.get(key);
+        if (parsed == null) {
+            parsed = StringUtils.toColor(scan(message));
+            cache.put(key, parsed);
+        }
+
+        return parsed;
     }
 
     /**
-     * Decode the number to its hex
-     * variant
+     * Replace the rgb and hex codes of the message
+     * in a single pass
      *
-     * @param n the number
-     * @return the number hex
-     */
-    private String decToHEX(int n) {
-        char[] hexDeciNum = new char[2];
-        int i = 0;
-        while (n != 0) {
-            int temp = n % 16;
-            if (temp < 10) {
-                hexDeciNum[i] = (char) (temp + 48);
+     * @param message the message to parse
+     * @return the message with its codes replaced
+     */
+    private String scan(final String message) {
+        int length = message.length();
+        StringBuilder builder = null;
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char character = message.charAt(i);
+            int end = -1;
+            int rgb = -1;
+
+            if (this.parseHEX && character == '<' && message.startsWith(GRADIENT_OPEN, i)) {
+                int close = message.indexOf('>', i);
+                int tail = (close == -1 ? -1 : message.indexOf(GRADIENT_CLOSE, close));
+                String gradient = (tail == -1 ? null : gradient(message.substring(i + GRADIENT_OPEN.length(), close), message.substring(close + 1, tail)));
+                if (gradient == null)
+                    continue;
+
+                if (builder == null)
+                    builder = new StringBuilder(length + 32);
+                builder.append(message, start, i).append(gradient);
+                start = tail + GRADIENT_CLOSE.length();
+                i = start - 1;
+                continue;
+            }
+            if (this.parseHEX && character == '#') {
+                rgb = hex(message, i + 1);
+                end = i + 7;
+            } else if (this.parseSimple && (character == 'r' || character == 'R') && message.regionMatches(true, i, "rgb(", 0, 4)) {
+                end = simple(message, i + 4);
+                if (end != -1)
+                    rgb = simpleColor(message, i + 4);
+            }
+            if (rgb == -1)
+                continue;
+
+            if (builder == null)
+                builder = new StringBuilder(length + 32);
+            builder.append(message, start, i);
+            if (this.parseHEX) {
+                appendColor(builder, rgb);
             } else {
-                hexDeciNum[i] = (char) (temp + 55);
+                appendHex(builder.append('#'), rgb);
             }
-            i++;
-            n /= 16;
+            start = end;
+            i = end - 1;
         }
-        String hexCode = "";
-        if (i == 2) {
-            hexCode = hexCode + hexDeciNum[0];
-            hexCode = hexCode + hexDeciNum[1];
-        } else if (i == 1) {
-            hexCode = "0";
-            hexCode = hexCode + hexDeciNum[0];
-        } else if (i == 0) {
-            hexCode = "00";
+
+        if (builder == null)
+            return message;
+        return builder.append(message, start, length).toString();
+    }
+
+    /**
+     * Render a gradient, rendered gradients are cached
+     * by stops and text
+     *
+     * @param stops the gradient stops, as #rrggbb:#rrggbb...
+     * @param text the gradient text
+     * @return the rendered gradient or null if the
+     * stops are not valid
+     */
+    private static String gradient(final String stops, final String text) {
+        String key = stops + '\0' + text;
+        String rendered = gradients.get(key);
+        if (rendered != null)
+            return rendered;
+
+        String[] split = stops.split(":");
+        if (split.length < 2)
+            return null;
+        int[] colors = new int[split.length];
+        for (int i = 0; i < split.length; i++) {
+            String stop = split[i].trim();
+            colors[i] = (stop.length() == 7 && stop.charAt(0) == '#' ? hex(stop, 1) : -1);
+            if (colors[i] == -1)
+                return null;
         }
-        return hexCode;
+
+        int visible = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char character = text.charAt(i);
+            if (isCodeStart(text, i)) {
+                i++;
+            } else if (!Character.isWhitespace(character)) {
+                visible++;
+            }
+        }
+
+        StringBuilder builder = new StringBuilder(text.length() * 16);
+        StringBuilder formats = new StringBuilder();
+        int segments = colors.length - 1;
+        int steps = Math.max(visible - 1, 1);
+        int step = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char character = text.charAt(i);
+            if (isCodeStart(text, i)) {
+                char code = Character.toLowerCase(text.charAt(++i));
+                if (code == 'r') {
+                    formats.setLength(0);
+                } else if (code >= 'k' && code <= 'o') {
+                    formats.append('\u00A7').append(code);
+                    builder.append('\u00A7').append(code);
+                }
+                continue;
+            }
+            if (Character.isWhitespace(character)) {
+                builder.append(character);
+                continue;
+            }
+
+            int position = step++ * segments;
+            int segment = Math.min(position / steps, segments - 1);
+            int offset = position - segment * steps;
+            appendColor(builder, mix(colors[segment], colors[segment + 1], offset, steps));
+            builder.append(formats).append(character);
+        }
+
+        rendered = builder.toString();
+        gradients.put(key, rendered);
+        return rendered;
+    }
+
+    /**
+     * Get if there's a color code at the specified index
+     *
+     * @param text the text
+     * @param index the index
+     * @return if the index starts a color code
+     */
+    private static boolean isCodeStart(final String text, final int index) {
+        char character = text.charAt(index);
+        return (character == '&' || character == '\u00A7') && index + 1 < text.length() && "0123456789abcdefklmnorABCDEFKLMNOR".indexOf(text.charAt(index + 1)) != -1;
     }
 
     /**
-     * Parse the rgb code to hex variant
+     * Mix two rgb colors
      *
-     * @param R red
-     * @param G green
-     * @param B blue
-     * @return the rgb hex variant
-     */
-    private String rgbToHex(final int R, final int G, final int B) {
-        if (R >= 0 && R <= 255 && G >= 0 && G <= 255 && B >= 0 && B <= 255) {
-            String hexCode = "#";
-            hexCode = hexCode + decToHEX(R);
-            hexCode = hexCode + decToHEX(G);
-            hexCode = hexCode + decToHEX(B);
-            return hexCode;
+     * @param from the start color
+     * @param to the end color
+     * @param offset the mix offset
+     * @param steps the mix total steps
+     * @return the mixed color
+     */
+    private static int mix(final int from, final int to, final int offset, final int steps) {
+        int rgb = 0;
+        for (int shift = 16; shift >= 0; shift -= 8) {
+            int start = (from >> shift) & 0xFF;
+            int end = (to >> shift) & 0xFF;
+            rgb |= (start + (end - start) * offset / steps) << shift;
         }
-        return "-1";
+        return rgb;
     }
 
     /**
-     * Get the rgb variant from the hex
+     * Read the six hex digits at the specified index
      *
-     * @param hex the hex
-     * @return the rgb variant from the hex
+     * @param message the message
+     * @param from the first digit index
+     * @return the read color or -1 if there's no
+     * hex color
      */
-    private int[] hexToRGB(final String hex) {
-        int red = Integer.valueOf(hex.substring( 1, 3 ), 16);
-        int green = Integer.valueOf(hex.substring( 3, 5 ), 16);
-        int blue = Integer.valueOf(hex.substring( 5, 7 ), 16);
+    private static int hex(final String message, final int from) {
+        if (from + 6 > message.length())
+            return -1;
 
-        return new int[]{red, green, blue};
+        int rgb = 0;
+        for (int i = from; i < from + 6; i++) {
+            int digit = Character.digit(message.charAt(i), 16);
+            if (digit == -1)
+                return -1;
+            rgb = (rgb << 4) | digit;
+        }
+        return rgb;
     }
 
     /**
-     * Parse the hex code to chat color variant
+     * Find the end of a rgb(r,g,b) code
      *
-     * @param argument the hex code
-     * @return the chat color variant of the hex code
+     * @param message the message
+     * @param from the index after rgb(
+     * @return the index after the code or -1 if
+     * there's no valid code
      */
-    private String hexToColor(final String argument) {
-        try {
-            Class<?> inst = Class.forName("net.md_5.bungee.api.ChatColor");
-            Method method = inst.getMethod("of", String.class);
-            method.setAccessible(true);
-            return String.valueOf(method.invoke(inst, argument));
-        } catch (Throwable ex) {
-            try {
-                Class<?> inst = Class.forName("net.kyori.adventure.text.format.TextColor");
-                Method method = inst.getMethod("color", int.class, int.class, int.class);
-                int[] rgb = hexToRGB(argument);
+    private static int simple(final String message, final int from) {
+        int index = from;
+        for (int component = 0; component < 3; component++) {
+            int digits = 0;
+            int value = 0;
+            while (index < message.length() && digits < 3 && Character.isDigit(message.charAt(index))) {
+                value = value * 10 + (message.charAt(index++) - '0');
+                digits++;
+            }
+            if (digits == 0 || value > 255 || index >= message.length())
+                return -1;
+
+            char separator = message.charAt(index++);
+            if (separator != (component == 2 ? ')' : ','))
+                return -1;
+        }
+        return index;
+    }
 
-                Object textColor = method.invoke(inst, rgb[0], rgb[2], rgb[3]);
-                Class<?> clazz = textColor.getClass();
-                Method examinableName = clazz.getMethod("examinableName");
+    /**
+     * Read a valid rgb(r,g,b) code color
+     *
+     * @param message the message
+     * @param from the index after rgb(
+     * @return the code color
+     */
+    private static int simpleColor(final String message, final int from) {
+        int rgb = 0;
+        int value = 0;
+        for (int i = from; ; i++) {
+            char character = message.charAt(i);
+            if (character == ',' || character == ')') {
+                rgb = (rgb << 8) | value;
+                value = 0;
+                if (character == ')')
+                    return rgb;
+            } else {
+                value = value * 10 + (character - '0');
+            }
+        }
+    }
 
-                return String.valueOf(examinableName.invoke(textColor));
-            } catch (Throwable exc) {
-                exc.printStackTrace();
+    /**
+     * Append the chat color of the rgb color
+     *
+     * @param builder the message builder
+     * @param rgb the rgb color
+     */
+    static void appendColor(final StringBuilder builder, final int rgb) {
+        if (colorOf != null) {
+            try {
+                builder.append((Object) colorOf.invokeExact(appendHex(new StringBuilder(7).append('#'), rgb).toString()));
+                return;
+            } catch (Throwable ignored) {
             }
         }
 
-        return "";
+        builder.append('\u00A7').append('x');
+        for (int shift = 20; shift >= 0; shift -= 4)
+            builder.append('\u00A7').append(HEX[(rgb >> shift) & 0xF]);
+    }
+
+    /**
+     * Append the hex digits of the rgb color
+     *
+     * @param builder the builder
+     * @param rgb the rgb color
+     * @return the builder
+     */
+    private static StringBuilder appendHex(final StringBuilder builder, final int rgb) {
+        for (int shift = 20; shift >= 0; shift -= 4)
+            builder.append(HEX[(rgb >> shift) & 0xF]);
+        return builder;
+    }
+
+    /**
+     * Resolve the platform hex color method. Bungee
+     * ChatColor#of(String) is used when available, otherwise
+     * the legacy &x&r&r&g&g&b&b format (with section signs) is
+     * written directly, as adventure and bukkit understand it too
+     *
+     * @return the platform hex color method
+     */
+    private static MethodHandle resolveColor() {
+        try {
+            Class<?> chatColor = Class.forName("net.md_5.bungee.api.ChatColor");
+            return MethodHandles.publicLookup()
+                    .findStatic(chatColor, "of", MethodType.methodType(chatColor, String.class))
+                    .asType(MethodType.methodType(Object.class, String.class));
+        } catch (Throwable ex) {
+            return null;
+        }
     }
 }
@@ -0,0 +1,129 @@
+package ml.karmaconfigs.api.common.timer;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import ml.karmaconfigs.api.common.timer.scheduler.Priority;
+
+/**
+ * Karma scheduler queued task
+ */
+final class QueuedTask implements Comparable<QueuedTask> {
+
+    /**
+     * The task id
+     */
+    private final int id;
+
+    /**
+     * The task to run
+     */
+    private final Runnable task;
+
+    /**
+     * The task priority
+     */
+    private final Priority priority;
+
+    /**
+     * The task deadline, in epoch millis
+     */
+    private final long deadline;
+
+    /**
+     * The nano time the task has been queued at
+     */
+    private final long queued;
+
+    /**
+     * Initialize the queued task
+     *
+     * @param taskId the task id
+     * @param runnable the task to run
+     * @param taskPriority the task priority
+     * @param taskDeadline the task deadline, in epoch millis
+     */
+    QueuedTask(final int taskId, final Runnable runnable, final Priority taskPriority, final long taskDeadline) {
+        this.id = taskId;
+        this.task = runnable;
+        this.priority = taskPriority;
+        this.deadline = taskDeadline;
+        this.queued = System.nanoTime();
+    }
+
+    /**
+     * Get the task id
+     *
+     * @return the task id
+     */
+    int getId() {
+        return this.id;
+    }
+
+    /**
+     * Get the task to run
+     *
+     * @return the task to run
+     */
+    Runnable getTask() {
+        return this.task;
+    }
+
+    /**
+     * Get the task priority
+     *
+     * @return the task priority
+     */
+    Priority getPriority() {
+        return this.priority;
+    }
+
+    /**
+     * Get the nanoseconds the task has been waiting
+     *
+     * @return the task waiting time
+     */
+    long waited() {
+        return System.nanoTime() - this.queued;
+    }
+
+    /**
+     * Compare the task with another one, being
+     * the earliest deadline the first one
+     *
+     * @param other the other task
+     * @return the comparison result
+     */
+    @Override
+    public int compareTo(final QueuedTask other) {
+        int result = Long.compare(this.deadline, other.deadline);
+        if (result == 0)
+            result = Integer.compare(this.priority.ordinal(), other.priority.ordinal());
+        if (result == 0)
+            result = Integer.compare(this.id, other.id);
+
+        return result;
+    }
+}
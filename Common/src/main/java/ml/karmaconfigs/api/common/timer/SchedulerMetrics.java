@@ -0,0 +1,335 @@
+package ml.karmaconfigs.api.common.timer;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import ml.karmaconfigs.api.common.Console;
+import ml.karmaconfigs.api.common.karma.KarmaSource;
+import ml.karmaconfigs.api.common.timer.scheduler.LatencyHistogram;
+import ml.karmaconfigs.api.common.timer.scheduler.Priority;
+import ml.karmaconfigs.api.common.timer.scheduler.Scheduler;
+import ml.karmaconfigs.api.common.timer.scheduler.SimpleScheduler;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Karma scheduler metrics. Exposes the running timers, queue
+ * depth, tick lag and tasks execution time of a source
+ */
+public final class SchedulerMetrics implements SchedulerMetricsMXBean {
+
+    /**
+     * The timers tick lag of all the sources, the time between
+     * a tick was scheduled and the time it got processed
+     */
+    private static final LatencyHistogram tick_lag = new LatencyHistogram();
+
+    /**
+     * A map containing source => timers tick lag
+     */
+    private static final Map<KarmaSource, LatencyHistogram> source_lag = new ConcurrentHashMap<>();
+
+    /**
+     * The metrics source
+     */
+    private final KarmaSource source;
+
+    /**
+     * Initialize the scheduler metrics
+     *
+     * @param owner the metrics source
+     */
+    private SchedulerMetrics(final KarmaSource owner) {
+        this.source = owner;
+    }
+
+    /**
+     * Get the scheduler metrics of a source
+     *
+     * @param owner the source
+     * @return the source scheduler metrics
+     */
+    public static SchedulerMetrics of(final KarmaSource owner) {
+        return new SchedulerMetrics(owner);
+    }
+
+    /**
+     * Get the timers tick lag of all the sources
+     *
+     * @return the timers tick lag
+     */
+    public static LatencyHistogram tickLag() {
+        return tick_lag;
+    }
+
+    /**
+     * Record a timer tick lag
+     *
+     * @param owner the timer source
+     * @param nanos the tick lag in nanoseconds
+     */
+    static void recordTickLag(final KarmaSource owner, final long nanos) {
+        tick_lag.record(nanos);
+        if (owner != null)
+            source_lag.computeIfAbsent(owner, key -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Get the source timers tick lag
+     *
+     * @return the source timers tick lag
+     */
+    public LatencyHistogram getTickLag() {
+        LatencyHistogram histogram = (this.source != null ? source_lag.get(this.source) : null);
+        return histogram != null ? histogram : new LatencyHistogram();
+    }
+
+    /**
+     * Get the source running timers
+     *
+     * @return the source running timers
+     */
+    public Set<SimpleScheduler> getTimers() {
+        Set<SimpleScheduler> timers = new LinkedHashSet<>();
+        for (SimpleScheduler timer : SimpleScheduler.getSchedulers(this.source)) {
+            if (timer.isRunning())
+                timers.add(timer);
+        }
+
+        return timers;
+    }
+
+    /**
+     * Get the source async scheduler
+     *
+     * @return the source async scheduler or null
+     * if the source has not created any
+     */
+    public Scheduler getAsyncScheduler() {
+        return AsyncScheduler.forSource(this.source);
+    }
+
+    /**
+     * Get the source sync scheduler
+     *
+     * @return the source sync scheduler or null
+     * if the source has not created any
+     */
+    public Scheduler getSyncScheduler() {
+        return SyncScheduler.forSource(this.source);
+    }
+
+    /**
+     * Get the source name
+     *
+     * @return the source name
+     */
+    @Override
+    public String getSource() {
+        return this.source.name();
+    }
+
+    /**
+     * Get the amount of source running timers
+     *
+     * @return the source running timers
+     */
+    @Override
+    public int getActiveTimers() {
+        return getTimers().size();
+    }
+
+    /**
+     * Get the amount of tasks waiting in the source
+     * async scheduler
+     *
+     * @return the async scheduler queue depth
+     */
+    @Override
+    public int getAsyncQueueDepth() {
+        Scheduler scheduler = getAsyncScheduler();
+        return scheduler != null ? scheduler.pending() : 0;
+    }
+
+    /**
+     * Get the amount of tasks waiting in the source
+     * sync scheduler
+     *
+     * @return the sync scheduler queue depth
+     */
+    @Override
+    public int getSyncQueueDepth() {
+        Scheduler scheduler = getSyncScheduler();
+        return scheduler != null ? scheduler.pending() : 0;
+    }
+
+    /**
+     * Get the 99th percentile of the source async
+     * scheduler tasks execution time
+     *
+     * @return the async tasks p99 execution milliseconds
+     */
+    @Override
+    public long getAsyncExecutionP99Millis() {
+        Scheduler scheduler = getAsyncScheduler();
+        return scheduler != null ? scheduler.execution().percentile(99, TimeUnit.MILLISECONDS) : 0L;
+    }
+
+    /**
+     * Get the 99th percentile of the source sync
+     * scheduler tasks execution time
+     *
+     * @return the sync tasks p99 execution milliseconds
+     */
+    @Override
+    public long getSyncExecutionP99Millis() {
+        Scheduler scheduler = getSyncScheduler();
+        return scheduler != null ? scheduler.execution().percentile(99, TimeUnit.MILLISECONDS) : 0L;
+    }
+
+    /**
+     * Get the 99th percentile of the source timers
+     * tick lag
+     *
+     * @return the timers p99 tick lag milliseconds
+     */
+    @Override
+    public long getTickLagP99Millis() {
+        return getTickLag().percentile(99, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Get the highest source timers tick lag
+     *
+     * @return the timers max tick lag milliseconds
+     */
+    @Override
+    public long getTickLagMaxMillis() {
+        return getTickLag().max(TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Get the metrics as human-readable lines
+     *
+     * @return the metrics lines
+     */
+    public List<String> dump() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Scheduler metrics of " + this.source.name());
+
+        Set<SimpleScheduler> timers = getTimers();
+        lines.add("Active timers: " + timers.size());
+        for (SimpleScheduler timer : timers)
+            lines.add("- #" + timer.getId() + " " + timer.getClass().getSimpleName() + " (" + timer.timeLeft(false).trim() + " left" + (timer.isPaused() ? ", paused" : "") + ")");
+
+        dumpScheduler(lines, "Async", getAsyncScheduler());
+        dumpScheduler(lines, "Sync", getSyncScheduler());
+        lines.add("Timers tick lag: " + getTickLag());
+
+        return lines;
+    }
+
+    /**
+     * Send the metrics to the specified console
+     *
+     * @param console the console to send the metrics to
+     */
+    public void dump(final Console console) {
+        for (String line : dump())
+            console.send("&7" + line);
+    }
+
+    /**
+     * Register the metrics in the platform MBean server
+     *
+     * @return if the metrics could be registered
+     */
+    public boolean registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = objectName();
+            if (!server.isRegistered(name))
+                server.registerMBean(this, name);
+            return true;
+        } catch (Throwable ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Remove the metrics from the platform MBean server
+     *
+     * @return if the metrics could be removed
+     */
+    public boolean unregisterMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = objectName();
+            if (server.isRegistered(name))
+                server.unregisterMBean(name);
+            return true;
+        } catch (Throwable ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Get the metrics MBean name
+     *
+     * @return the metrics MBean name
+     * @throws Exception if the name is not valid
+     */
+    private ObjectName objectName() throws Exception {
+        return new ObjectName("ml.karmaconfigs.api:type=Scheduler,source=" + ObjectName.quote(this.source.name()));
+    }
+
+    /**
+     * Add a scheduler metrics to the dump lines
+     *
+     * @param lines the dump lines
+     * @param name the scheduler name
+     * @param scheduler the scheduler
+     */
+    private static void dumpScheduler(final List<String> lines, final String name, final Scheduler scheduler) {
+        if (scheduler == null) {
+            lines.add(name + " scheduler: not created");
+            return;
+        }
+
+        lines.add(name + " scheduler: " + scheduler.pending() + " pending task(s)");
+        lines.add("- Execution: " + scheduler.execution());
+        for (Priority priority : Priority.values())
+            lines.add("- " + priority.name() + " queue latency: " + scheduler.latency(priority));
+    }
+}
@@ -0,0 +1,93 @@
+package ml.karmaconfigs.api.common.timer;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+/**
+ * Karma scheduler metrics JMX view
+ */
+public interface SchedulerMetricsMXBean {
+
+    /**
+     * Get the source name
+     *
+     * @return the source name
+     */
+    String getSource();
+
+    /**
+     * Get the amount of source running timers
+     *
+     * @return the source running timers
+     */
+    int getActiveTimers();
+
+    /**
+     * Get the amount of tasks waiting in the source
+     * async scheduler
+     *
+     * @return the async scheduler queue depth
+     */
+    int getAsyncQueueDepth();
+
+    /**
+     * Get the amount of tasks waiting in the source
+     * sync scheduler
+     *
+     * @return the sync scheduler queue depth
+     */
+    int getSyncQueueDepth();
+
+    /**
+     * Get the 99th percentile of the source async
+     * scheduler tasks execution time
+     *
+     * @return the async tasks p99 execution milliseconds
+     */
+    long getAsyncExecutionP99Millis();
+
+    /**
+     * Get the 99th percentile of the source sync
+     * scheduler tasks execution time
+     *
+     * @return the sync tasks p99 execution milliseconds
+     */
+    long getSyncExecutionP99Millis();
+
+    /**
+     * Get the 99th percentile of the timers tick
+     * lag
+     *
+     * @return the timers p99 tick lag milliseconds
+     */
+    long getTickLagP99Millis();
+
+    /**
+     * Get the highest timers tick lag
+     *
+     * @return the timers max tick lag milliseconds
+     */
+    long getTickLagMaxMillis();
+}
@@ -121,11 +121,33 @@ public final class SourceSecondsTimer extends SimpleScheduler {
      * If the timer is queued for restart
      */
     private boolean temp_restart = false;
+    /**
+     * If the timer should run the actions of the
+     * ticks it missed because of a delay
+     */
+    private boolean fireMissed = true;
     /**
      * If the timer has multi-threading
      */
     private boolean thread = false;
 
+    /**
+     * The nano time the timer countdown is anchored to
+     */
+    private long anchor;
+    /**
+     * The amount of ticks processed since the anchor
+     */
+    private long processed;
+    /**
+     * The nano time the timer has been paused at
+     */
+    private long pausedAt = -1L;
+    /**
+     * The timer tick period in nanoseconds
+     */
+    private long tickNanos;
+
     /**
      * Action to perform when the timer gets paused
      */
@@ -163,7 +185,7 @@ public final class SourceSecondsTimer extends SimpleScheduler {
      * provided
      */
     public SourceSecondsTimer(final KarmaSource owner, final int builtId) throws TimerNotFound, IllegalTimerAccess {
-        super(owner);
+        super(owner, builtId);
         SimpleScheduler built = timersData.getOrDefault(builtId, null);
         if (built != null) {
             if (built.getSource().isSource(owner)) {
@@ -192,6 +214,19 @@ public final class SourceSecondsTimer extends SimpleScheduler {
         return this;
     }
 
+    /**
+     * Set if the timer should run the second/period actions
+     * of the ticks it missed because of a delay, or only
+     * the actions of the latest tick
+     *
+     * @param status if the timer should run missed actions
+     * @return this instance
+     */
+    public SimpleScheduler fireMissed(final boolean status) {
+        this.fireMissed = status;
+        return this;
+    }
+
     /**
      * Cancel the scheduler
      */
@@ -219,49 +254,35 @@ public final class SourceSecondsTimer extends SimpleScheduler {
     public void start() throws TimerAlreadyStarted {
         Set<Integer> ids = runningTimers.getOrDefault(this.source, Collections.newSetFromMap(new ConcurrentHashMap<>()));
         if (!ids.contains(this.id)) {
+            runningTimers.computeIfAbsent(this.source, key -> Collections.newSetFromMap(new ConcurrentHashMap<>())).add(this.id);
+            register();
             final Timer timer = new Timer();
+            this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, this.period));
+            this.anchor = System.nanoTime();
+            this.processed = 0L;
+            this.pausedAt = -1L;
             timer.schedule(new TimerTask() {
                 public void run() {
-                    if (!SourceSecondsTimer.this.pause)
-                        if (SourceSecondsTimer.this.cancel || SourceSecondsTimer.this.temp_restart) {
-                            if (!SourceSecondsTimer.this.temp_restart) {
-                                SourceSecondsTimer.timersData.remove(SourceSecondsTimer.this.id);
-                                Set<Integer> ids = SourceSecondsTimer.runningTimers.getOrDefault(SourceSecondsTimer.this.source, Collections.newSetFromMap(new ConcurrentHashMap<>()));
-                                ids.remove(SourceSecondsTimer.this.id);
-                                SourceSecondsTimer.runningTimers.put(SourceSecondsTimer.this.source, ids);
-                                if (SourceSecondsTimer.this.cancelAction != null)
-                                    SourceSecondsTimer.this.runSecondsLongWithThread(SourceSecondsTimer.this.cancelAction);
-                                SourceSecondsTimer.this.cancel = false;
-                                SourceSecondsTimer.this.pause = false;
-                                SourceSecondsTimer.this.temp_restart = false;
-                                timer.cancel();
-                            } else {
-                                SourceSecondsTimer.this.back = SourceSecondsTimer.this.original;
-                                SourceSecondsTimer.this.onRestartTasks.forEach(task -> runTaskWithThread(task));
-                                SourceSecondsTimer.this.temp_restart = false;
-                            }
-                        } else {
-                            SourceSecondsTimer.this.executeTasks();
-                            if (SourceSecondsTimer.this.back > 0) {
-                                SourceSecondsTimer.this.back--;
-                            } else {
-                                SourceSecondsTimer.this.back = SourceSecondsTimer.this.original;
-                                if (SourceSecondsTimer.this.restart) {
-                                    SourceSecondsTimer.this.onRestartTasks.forEach(task -> runTaskWithThread(task));
-                                    SourceSecondsTimer.this.back = SourceSecondsTimer.this.original;
-                                } else {
-                                    SourceSecondsTimer.this.onEndTasks.forEach(task -> runTaskWithThread(task));
-                                    SourceSecondsTimer.timersData.remove(SourceSecondsTimer.this.id);
-                                    Set<Integer> ids = SourceSecondsTimer.runningTimers.getOrDefault(SourceSecondsTimer.this.source, Collections.newSetFromMap(new ConcurrentHashMap<>()));
-                                    ids.remove(SourceSecondsTimer.this.id);
-                                    SourceSecondsTimer.runningTimers.put(SourceSecondsTimer.this.source, ids);
-                                    SourceSecondsTimer.this.cancel = false;
-                                    SourceSecondsTimer.this.pause = false;
-                                    SourceSecondsTimer.this.temp_restart = false;
-                                    timer.cancel();
-                                }
-                            }
-                        }
+                    long now = System.nanoTime();
+                    if (SourceSecondsTimer.this.pause) {
+                        if (SourceSecondsTimer.this.pausedAt == -1L)
+                            SourceSecondsTimer.this.pausedAt = now;
+                        return;
+                    }
+                    if (SourceSecondsTimer.this.pausedAt != -1L) {
+                        SourceSecondsTimer.this.anchor += now - SourceSecondsTimer.this.pausedAt;
+                        SourceSecondsTimer.this.pausedAt = -1L;
+                    }
+
+                    long due = Math.floorDiv(now - SourceSecondsTimer.this.anchor, SourceSecondsTimer.this.tickNanos);
+                    if (SourceSecondsTimer.this.processed <= due)
+                        SchedulerMetrics.recordTickLag(SourceSecondsTimer.this.source, now - (SourceSecondsTimer.this.anchor + SourceSecondsTimer.this.processed * SourceSecondsTimer.this.tickNanos));
+                    while (SourceSecondsTimer.this.processed <= due) {
+                        boolean last = SourceSecondsTimer.this.processed == due;
+                        SourceSecondsTimer.this.processed++;
+                        if (!SourceSecondsTimer.this.tick(timer, last))
+                            break;
+                    }
                 }
             }, 0L, this.period);
         } else {
@@ -619,14 +640,73 @@ public final class SourceSecondsTimer extends SimpleScheduler {
         return TimeUnit.SECONDS.toMillis(this.back);
     }
 
+    /**
+     * Process a timer tick. The timer remaining time is computed
+     * from its monotonic anchor, so when the timer thread gets
+     * delayed, the missed ticks are processed at once
+     *
+     * @param timer the timer running the scheduler
+     * @param last if the tick is the latest due tick
+     * @return if the timer should keep processing ticks
+     */
+    private boolean tick(final Timer timer, final boolean last) {
+        if (this.cancel || this.temp_restart) {
+            if (!this.temp_restart) {
+                timersData.remove(this.id);
+                Set<Integer> ids = runningTimers.getOrDefault(this.source, Collections.newSetFromMap(new ConcurrentHashMap<>()));
+                ids.remove(this.id);
+                runningTimers.put(this.source, ids);
+                if (this.cancelAction != null)
+                    runSecondsLongWithThread(this.cancelAction);
+                this.cancel = false;
+                this.pause = false;
+                this.temp_restart = false;
+                timer.cancel();
+                unregister();
+            } else {
+                this.back = this.original;
+                this.onRestartTasks.forEach(this::runTaskWithThread);
+                this.temp_restart = false;
+                this.anchor = System.nanoTime() + this.tickNanos;
+                this.processed = 0L;
+            }
+            return false;
+        }
+
+        if (this.fireMissed || last)
+            executeTasks();
+        if (this.back > 0) {
+            this.back--;
+        } else {
+            this.back = this.original;
+            if (this.restart) {
+                this.onRestartTasks.forEach(this::runTaskWithThread);
+            } else {
+                this.onEndTasks.forEach(this::runTaskWithThread);
+                timersData.remove(this.id);
+                Set<Integer> ids = runningTimers.getOrDefault(this.source, Collections.newSetFromMap(new ConcurrentHashMap<>()));
+                ids.remove(this.id);
+                runningTimers.put(this.source, ids);
+                this.cancel = false;
+                this.pause = false;
+                this.temp_restart = false;
+                timer.cancel();
+                unregister();
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     /**
      * Execute the tasks corresponding to the current
      * second/millisecond
      */
     private void executeTasks() {
-        Set<Consumer<Integer>> secondConsumers = this.secondsConsumer.getOrDefault(this.back, Collections.newSetFromMap(new ConcurrentHashMap<>()));
-        Set<Consumer<Long>> secondLongConsumers = this.secondsLongConsumer.getOrDefault(this.back, Collections.newSetFromMap(new ConcurrentHashMap<>()));
-        Set<Runnable> actions = this.secondsActions.getOrDefault(this.back, Collections.newSetFromMap(new ConcurrentHashMap<>()));
+        Set<Consumer<Integer>> secondConsumers = this.secondsConsumer.getOrDefault(this.back, Collections.emptySet());
+        Set<Consumer<Long>> secondLongConsumers = this.secondsLongConsumer.getOrDefault(this.back, Collections.emptySet());
+        Set<Runnable> actions = this.secondsActions.getOrDefault(this.back, Collections.emptySet());
         for (Consumer<Integer> consumer : secondConsumers)
             runSecondsWithThread(consumer);
         for (Consumer<Long> consumer : secondLongConsumers)
@@ -643,7 +723,8 @@ public final class SourceSecondsTimer extends SimpleScheduler {
      */
     private void runSecondsWithThread(final Consumer<Integer> task) {
         if (this.thread) {
-            (new Thread(() -> task.accept(this.back))).start();
+            final int current = this.back;
+            (new Thread(() -> task.accept(current))).start();
         } else {
             task.accept(this.back);
         }
@@ -657,7 +738,8 @@ public final class SourceSecondsTimer extends SimpleScheduler {
      */
     private void runSecondsLongWithThread(final Consumer<Long> task) {
         if (this.thread) {
-            (new Thread(() -> task.accept(TimeUnit.SECONDS.toMillis(this.back)))).start();
+            final long current = TimeUnit.SECONDS.toMillis(this.back);
+            (new Thread(() -> task.accept(current))).start();
         } else {
             task.accept(TimeUnit.SECONDS.toMillis(this.back));
         }
@@ -124,11 +124,33 @@ public final class SourceSimpleTimer extends SimpleScheduler {
      * If the timer is queued for restart
      */
     private boolean temp_restart;
+    /**
+     * If the timer should run the actions of the
+     * ticks it missed because of a delay
+     */
+    private boolean fireMissed = true;
     /**
      * If the timer has multi-threading
      */
     private boolean thread;
 
+    /**
+     * The nano time the timer countdown is anchored to
+     */
+    private long anchor;
+    /**
+     * The amount of ticks processed since the anchor
+     */
+    private long processed;
+    /**
+     * The nano time the timer has been paused at
+     */
+    private long pausedAt = -1L;
+    /**
+     * The timer tick period in nanoseconds
+     */
+    private long tickNanos;
+
     /**
      * Action to perform when the timer gets paused
      */
@@ -199,7 +221,7 @@ public final class SourceSimpleTimer extends SimpleScheduler {
      * provided
      */
     public SourceSimpleTimer(final KarmaSource owner, final int builtId) throws TimerNotFound, IllegalTimerAccess {
-        super(owner);
+        super(owner, builtId);
         this.period = 1L;
         this.noticeUnloaded = false;
         this.cancel = false;
@@ -243,6 +265,19 @@ public final class SourceSimpleTimer extends SimpleScheduler {
         return this;
     }
 
+    /**
+     * Set if the timer should run the second/period actions
+     * of the ticks it missed because of a delay, or only
+     * the actions of the latest tick
+     *
+     * @param status if the timer should run missed actions
+     * @return this instance
+     */
+    public SimpleScheduler fireMissed(final boolean status) {
+        this.fireMissed = status;
+        return this;
+    }
+
     /**
      * Cancel the scheduler
      */
@@ -270,49 +305,35 @@ public final class SourceSimpleTimer extends SimpleScheduler {
     public void start() throws TimerAlreadyStarted {
         Set<Integer> ids = runningTimers.getOrDefault(this.source, Collections.newSetFromMap(new ConcurrentHashMap<>()));
         if (!ids.contains(this.id)) {
+            runningTimers.computeIfAbsent(this.source, key -> Collections.newSetFromMap(new ConcurrentHashMap<>())).add(this.id);
+            register();
             final Timer timer = new Timer();
+            this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, this.period));
+            this.anchor = System.nanoTime();
+            this.processed = 0L;
+            this.pausedAt = -1L;
             timer.schedule(new TimerTask() {
                 public void run() {
-                    if (!SourceSimpleTimer.this.pause)
-                        if (SourceSimpleTimer.this.cancel || SourceSimpleTimer.this.temp_restart) {
-                            if (!SourceSimpleTimer.this.temp_restart) {
-                                SourceSimpleTimer.timersData.remove(SourceSimpleTimer.this.id);
-                                Set<Integer> ids = SourceSimpleTimer.runningTimers.getOrDefault(SourceSimpleTimer.this.source, Collections.newSetFromMap(new ConcurrentHashMap<>()));
-                                ids.remove(SourceSimpleTimer.this.id);
-                                SourceSimpleTimer.runningTimers.put(SourceSimpleTimer.this.source, ids);
-                                if (SourceSimpleTimer.this.cancelAction != null)
-                                    SourceSimpleTimer.this.runPeriodWithThread(SourceSimpleTimer.this.cancelAction);
-                                SourceSimpleTimer.this.cancel = false;
-                                SourceSimpleTimer.this.pause = false;
-                                SourceSimpleTimer.this.temp_restart = false;
-                                timer.cancel();
-                            } else {
-                                SourceSimpleTimer.this.back = SourceSimpleTimer.this.original;
-                                SourceSimpleTimer.this.onRestartTasks.forEach(x$0 -> runTaskWithThread(x$0));
-                                SourceSimpleTimer.this.temp_restart = false;
-                            }
-                        } else {
-                            SourceSimpleTimer.this.executeTasks();
-                            if (SourceSimpleTimer.this.back > 0L) {
-                                SourceSimpleTimer.this.back--;
-                            } else {
-                                SourceSimpleTimer.this.back = SourceSimpleTimer.this.original;
-                                if (SourceSimpleTimer.this.restart) {
-                                    SourceSimpleTimer.this.onRestartTasks.forEach(x$0 -> runTaskWithThread(x$0));
-                                    SourceSimpleTimer.this.back = SourceSimpleTimer.this.original;
-                                } else {
-                                    SourceSimpleTimer.this.onEndTasks.forEach(x$0 -> runTaskWithThread(x$0));
-                                    SourceSimpleTimer.timersData.remove(SourceSimpleTimer.this.id);
-                                    Set<Integer> ids = SourceSimpleTimer.runningTimers.getOrDefault(SourceSimpleTimer.this.source, Collections.newSetFromMap(new ConcurrentHashMap<>()));
-                                    ids.remove(SourceSimpleTimer.this.id);
-                                    SourceSimpleTimer.runningTimers.put(SourceSimpleTimer.this.source, ids);
-                                    SourceSimpleTimer.this.cancel = false;
-                                    SourceSimpleTimer.this.pause = false;
-                                    SourceSimpleTimer.this.temp_restart = false;
-                                    timer.cancel();
-                                }
-                            }
-                        }
+                    long now = System.nanoTime();
+                    if (SourceSimpleTimer.this.pause) {
+                        if (SourceSimpleTimer.this.pausedAt == -1L)
+                            SourceSimpleTimer.this.pausedAt = now;
+                        return;
+                    }
+                    if (SourceSimpleTimer.this.pausedAt != -1L) {
+                        SourceSimpleTimer.this.anchor += now - SourceSimpleTimer.this.pausedAt;
+                        SourceSimpleTimer.this.pausedAt = -1L;
+                    }
+
+                    long due = Math.floorDiv(now - SourceSimpleTimer.this.anchor, SourceSimpleTimer.this.tickNanos);
+                    if (SourceSimpleTimer.this.processed <= due)
+                        SchedulerMetrics.recordTickLag(SourceSimpleTimer.this.source, now - (SourceSimpleTimer.this.anchor + SourceSimpleTimer.this.processed * SourceSimpleTimer.this.tickNanos));
+                    while (SourceSimpleTimer.this.processed <= due) {
+                        boolean last = SourceSimpleTimer.this.processed == due;
+                        SourceSimpleTimer.this.processed++;
+                        if (!SourceSimpleTimer.this.tick(timer, last))
+                            break;
+                    }
                 }
             }, 0L, this.period);
         } else {
@@ -672,22 +693,82 @@ public final class SourceSimpleTimer extends SimpleScheduler {
         return this.back;
     }
 
+    /**
+     * Process a timer tick. The timer remaining time is computed
+     * from its monotonic anchor, so when the timer thread gets
+     * delayed, the missed ticks are processed at once
+     *
+     * @param timer the timer running the scheduler
+     * @param last if the tick is the latest due tick
+     * @return if the timer should keep processing ticks
+     */
+    private boolean tick(final Timer timer, final boolean last) {
+        if (this.cancel || this.temp_restart) {
+            if (!this.temp_restart) {
+                timersData.remove(this.id);
+                Set<Integer> ids = runningTimers.getOrDefault(this.source, Collections.newSetFromMap(new ConcurrentHashMap<>()));
+                ids.remove(this.id);
+                runningTimers.put(this.source, ids);
+                if (this.cancelAction != null)
+                    runPeriodWithThread(this.cancelAction);
+                this.cancel = false;
+                this.pause = false;
+                this.temp_restart = false;
+                timer.cancel();
+                unregister();
+            } else {
+                this.back = this.original;
+                this.onRestartTasks.forEach(this::runTaskWithThread);
+                this.temp_restart = false;
+                this.anchor = System.nanoTime() + this.tickNanos;
+                this.processed = 0L;
+            }
+            return false;
+        }
+
+        if (this.fireMissed || last)
+            executeTasks();
+        if (this.back > 0L) {
+            this.back--;
+        } else {
+            this.back = this.original;
+            if (this.restart) {
+                this.onRestartTasks.forEach(this::runTaskWithThread);
+            } else {
+                this.onEndTasks.forEach(this::runTaskWithThread);
+                timersData.remove(this.id);
+                Set<Integer> ids = runningTimers.getOrDefault(this.source, Collections.newSetFromMap(new ConcurrentHashMap<>()));
+                ids.remove(this.id);
+                runningTimers.put(this.source, ids);
+                this.cancel = false;
+                this.pause = false;
+                this.temp_restart = false;
+                timer.cancel();
+                unregister();
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     /**
      * Execute the tasks corresponding to the current
      * second/millisecond
      */
     private void executeTasks() {
-        Set<Consumer<Long>> periodConsumers = this.periodConsumer.getOrDefault(this.back, Collections.newSetFromMap(new ConcurrentHashMap<>()));
-        Set<Consumer<Integer>> secondConsumers = this.secondsConsumer.getOrDefault(this.back, Collections.newSetFromMap(new ConcurrentHashMap<>()));
-        Set<Runnable> runnables = this.periodActions.getOrDefault(this.back, Collections.newSetFromMap(new ConcurrentHashMap<>()));
-        Set<Runnable> secondRunnable = this.secondsActions.getOrDefault((int) TimeUnit.MILLISECONDS.toSeconds(this.back), Collections.newSetFromMap(new ConcurrentHashMap<>()));
-        runnables.addAll(secondRunnable);
+        Set<Consumer<Long>> periodConsumers = this.periodConsumer.getOrDefault(this.back, Collections.emptySet());
+        Set<Consumer<Integer>> secondConsumers = this.secondsConsumer.getOrDefault(this.back, Collections.emptySet());
+        Set<Runnable> runnables = this.periodActions.getOrDefault(this.back, Collections.emptySet());
+        Set<Runnable> secondRunnable = this.secondsActions.getOrDefault((int) TimeUnit.MILLISECONDS.toSeconds(this.back), Collections.emptySet());
         for (Consumer<Long> consumer : periodConsumers)
             runPeriodWithThread(consumer);
         for (Consumer<Integer> consumer : secondConsumers)
             runSecondsWithThread(consumer);
         for (Runnable runnable : runnables)
             runTaskWithThread(runnable);
+        for (Runnable runnable : secondRunnable)
+            runTaskWithThread(runnable);
     }
 
     /**
@@ -698,7 +779,8 @@ public final class SourceSimpleTimer extends SimpleScheduler {
      */
     private void runSecondsWithThread(final Consumer<Integer> task) {
         if (this.thread) {
-            (new Thread(() -> task.accept((int) TimeUnit.MILLISECONDS.toSeconds(this.back)))).start();
+            final int current = (int) TimeUnit.MILLISECONDS.toSeconds(this.back);
+            (new Thread(() -> task.accept(current))).start();
         } else {
             task.accept((int) TimeUnit.MILLISECONDS.toSeconds(this.back));
         }
@@ -712,7 +794,8 @@ public final class SourceSimpleTimer extends SimpleScheduler {
      */
     private void runPeriodWithThread(final Consumer<Long> task) {
         if (this.thread) {
-            (new Thread(() -> task.accept(this.back))).start();
+            final long current = this.back;
+            (new Thread(() -> task.accept(current))).start();
         } else {
             task.accept(this.back);
         }
@@ -26,14 +26,19 @@ package ml.karmaconfigs.api.common.timer;
  */
 
 import ml.karmaconfigs.api.common.karma.KarmaSource;
+import ml.karmaconfigs.api.common.timer.scheduler.LatencyHistogram;
+import ml.karmaconfigs.api.common.timer.scheduler.Priority;
 import ml.karmaconfigs.api.common.timer.scheduler.Scheduler;
 
 import java.io.Serializable;
-import java.util.HashMap;
+import java.time.Instant;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
@@ -46,10 +51,26 @@ public final class SyncScheduler extends Scheduler implements Serializable {
      * of creating tons of them
      */
     private static final Map<KarmaSource, Scheduler> schedulers = new ConcurrentHashMap<>();
+
+    /**
+     * The tasks of the scheduler, sorted by deadline
+     */
+    private final PriorityBlockingQueue<QueuedTask> tasks;
+
+    /**
+     * The tasks queue latency per priority
+     */
+    private final Map<Priority, LatencyHistogram> latency;
+
     /**
-     * The tasks of the scheduler
+     * The tasks execution time
      */
-    private final Map<Integer, Runnable> tasks = new HashMap<>();
+    private final LatencyHistogram execution;
+
+    /**
+     * The task ID generator
+     */
+    private final AtomicInteger ids;
 
     /**
      * The scheduler timer
@@ -69,10 +90,6 @@ public final class SyncScheduler extends Scheduler implements Serializable {
      * The current task
      */
     private int current = 0;
-    /**
-     * Completed tasks
-     */
-    private int completed = 0;
 
     /**
      * Initialize the scheduler
@@ -80,26 +97,39 @@ public final class SyncScheduler extends Scheduler implements Serializable {
      * @param source the scheduler owner
      */
     public SyncScheduler(final KarmaSource source) {
-        SyncScheduler async = (SyncScheduler) schedulers.getOrDefault(source, null);
-        if (async != null) {
-            this.tasks.putAll(async.tasks);
-            this.scheduler = async.scheduler;
-            this.start = async.start;
-            this.complete = async.complete;
-            this.current = async.current;
-            this.completed = async.completed;
+        SyncScheduler sync = (SyncScheduler) schedulers.getOrDefault(source, null);
+        if (sync != null) {
+            this.tasks = sync.tasks;
+            this.latency = sync.latency;
+            this.execution = sync.execution;
+            this.ids = sync.ids;
+            this.scheduler = sync.scheduler;
+            this.start = sync.start;
+            this.complete = sync.complete;
+            this.current = sync.current;
         } else {
+            this.tasks = new PriorityBlockingQueue<>();
+            this.latency = new EnumMap<>(Priority.class);
+            for (Priority priority : Priority.values())
+                this.latency.put(priority, new LatencyHistogram());
+            this.execution = new LatencyHistogram();
+            this.ids = new AtomicInteger();
             this.scheduler = new Timer();
             this.scheduler.schedule(new TimerTask() {
                 public void run() {
-                    int next = SyncScheduler.this.completed + 1;
-                    if (SyncScheduler.this.tasks.containsKey(next) && SyncScheduler.this.tasks.get(next) != null) {
-                        SyncScheduler.this.current = next;
+                    QueuedTask next = SyncScheduler.this.tasks.poll();
+                    if (next != null) {
+                        SyncScheduler.this.latency.get(next.getPriority()).record(next.waited());
+                        SyncScheduler.this.current = next.getId();
                         if (SyncScheduler.this.start != null)
                             SyncScheduler.this.start.accept(SyncScheduler.this.current);
-                        (SyncScheduler.this.tasks.get(next)).run();
-                        SyncScheduler.this.completed++;
-                        if (SyncScheduler.this.start != null)
+                        long begin = System.nanoTime();
+                        try {
+                            next.getTask().run();
+                        } finally {
+                            SyncScheduler.this.execution.record(System.nanoTime() - begin);
+                        }
+                        if (SyncScheduler.this.complete != null)
                             SyncScheduler.this.complete.accept(SyncScheduler.this.current);
                     }
                 }
@@ -138,9 +168,36 @@ public final class SyncScheduler extends Scheduler implements Serializable {
      */
     @Override
     public int queue(final Runnable task) {
-        int amount = this.tasks.size();
-        int index = amount + 1;
-        this.tasks.put(index, task);
+        return queue(task, Priority.NORMAL);
+    }
+
+    /**
+     * Queue another task to the scheduler with the
+     * specified priority
+     *
+     * @param task the task to perform
+     * @param priority the task priority
+     * @return the task id
+     */
+    @Override
+    public int queue(final Runnable task, final Priority priority) {
+        int index = this.ids.incrementAndGet();
+        this.tasks.offer(new QueuedTask(index, task, priority, priority.deadline(System.currentTimeMillis())));
+        return index;
+    }
+
+    /**
+     * Queue another task to the scheduler, which should
+     * run before the specified deadline
+     *
+     * @param task the task to perform
+     * @param deadline the task deadline
+     * @return the task id
+     */
+    @Override
+    public int queue(final Runnable task, final Instant deadline) {
+        int index = this.ids.incrementAndGet();
+        this.tasks.offer(new QueuedTask(index, task, Priority.HIGH, deadline.toEpochMilli()));
         return index;
     }
 
@@ -153,4 +210,48 @@ public final class SyncScheduler extends Scheduler implements Serializable {
     public int currentTask() {
         return this.current;
     }
+
+    /**
+     * Get the time the tasks of the specified priority
+     * have waited in queue before being run
+     *
+     * @param priority the task priority
+     * @return the priority queue latency
+     */
+    @Override
+    public LatencyHistogram latency(final Priority priority) {
+        return this.latency.get(priority);
+    }
+
+    /**
+     * Get the time the scheduler tasks have taken
+     * to run
+     *
+     * @return the tasks execution time
+     */
+    @Override
+    public LatencyHistogram execution() {
+        return this.execution;
+    }
+
+    /**
+     * Get the amount of tasks waiting to be run
+     *
+     * @return the scheduler queue depth
+     */
+    @Override
+    public int pending() {
+        return this.tasks.size();
+    }
+
+    /**
+     * Get the scheduler of the specified source, if
+     * it has been already created
+     *
+     * @param source the scheduler owner
+     * @return the source scheduler or null
+     */
+    static Scheduler forSource(final KarmaSource source) {
+        return schedulers.get(source);
+    }
 }
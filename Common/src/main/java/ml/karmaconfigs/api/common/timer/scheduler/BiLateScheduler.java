@@ -25,9 +25,17 @@ package ml.karmaconfigs.api.common.timer.scheduler;
  *  SOFTWARE.
  */
 
+import ml.karmaconfigs.api.common.timer.scheduler.worker.FixedLateScheduler;
 import ml.karmaconfigs.api.common.utils.TriConsumer;
 
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 
 /**
  * KarmaAPI bi-object late scheduler
@@ -102,6 +110,101 @@ public interface BiLateScheduler<A, B> extends CancellableScheduler {
      */
     void complete(final A paramA, final B paramB, final Throwable paramThrowable);
 
+    /**
+     * Create a new scheduler which will be completed
+     * with the result of the function applied to this
+     * scheduler objects
+     *
+     * @param function the function to apply
+     * @param <C> the new scheduler type
+     * @return the new scheduler
+     */
+    default <C> LateScheduler<C> thenApply(final BiFunction<A, B, C> function) {
+        LateScheduler<C> next = new FixedLateScheduler<>();
+        whenComplete((target, subTarget, error) -> {
+            if (error != null) {
+                next.complete(null, error);
+                return;
+            }
+
+            C result;
+            try {
+                result = function.apply(target, subTarget);
+            } catch (Throwable ex) {
+                next.complete(null, ex);
+                return;
+            }
+            next.complete(result);
+        });
+        return next;
+    }
+
+    /**
+     * Create a new scheduler which will be completed
+     * when the scheduler returned by the function is
+     * completed
+     *
+     * @param function the function to apply
+     * @param <C> the new scheduler type
+     * @return the new scheduler
+     */
+    default <C> LateScheduler<C> thenCompose(final BiFunction<A, B, LateScheduler<C>> function) {
+        LateScheduler<C> next = new FixedLateScheduler<>();
+        whenComplete((target, subTarget, error) -> {
+            if (error != null) {
+                next.complete(null, error);
+                return;
+            }
+
+            try {
+                function.apply(target, subTarget).whenComplete((result, failure) -> next.complete(result, failure));
+            } catch (Throwable ex) {
+                next.complete(null, ex);
+            }
+        });
+        return next;
+    }
+
+    /**
+     * Complete the scheduler with a {@link TimeoutException}
+     * if it has not been completed after the specified time
+     *
+     * @param time the maximum time to wait
+     * @param unit the time unit
+     * @return this instance
+     */
+    default BiLateScheduler<A, B> timeout(final long time, final TimeUnit unit) {
+        if (!isCompleted() && !isCancelled()) {
+            ScheduledFuture<?> task = LateTimeout.schedule(() -> {
+                if (!isCompleted() && !isCancelled())
+                    complete(getObject(), getSubObject(), new TimeoutException("Late scheduler not completed after " + time + " " + unit.name().toLowerCase()));
+            }, time, unit);
+            whenComplete(() -> task.cancel(false));
+        }
+
+        return this;
+    }
+
+    /**
+     * Get the scheduler as a completable future, being
+     * the entry key the A object and the entry value
+     * the B object
+     *
+     * @return the scheduler future
+     */
+    default CompletableFuture<Map.Entry<A, B>> toCompletableFuture() {
+        CompletableFuture<Map.Entry<A, B>> future = new CompletableFuture<>();
+        whenComplete((target, subTarget, error) -> {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(new AbstractMap.SimpleImmutableEntry<>(target, subTarget));
+            }
+        });
+        whenCancelled(() -> future.cancel(false));
+        return future;
+    }
+
     /**
      * Complete another bi consumer with these
      * objects
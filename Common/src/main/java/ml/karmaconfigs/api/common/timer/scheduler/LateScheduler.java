@@ -25,8 +25,19 @@ package ml.karmaconfigs.api.common.timer.scheduler;
  *  SOFTWARE.
  */
 
+import ml.karmaconfigs.api.common.timer.scheduler.worker.FixedLateScheduler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * KarmaAPI single-object late scheduler
@@ -91,6 +102,128 @@ public interface LateScheduler<A> extends CancellableScheduler {
      */
     void complete(final A paramA, final Throwable paramThrowable);
 
+    /**
+     * Create a new scheduler which will be completed
+     * with the result of the function applied to this
+     * scheduler object
+     *
+     * @param function the function to apply
+     * @param <B> the new scheduler type
+     * @return the new scheduler
+     */
+    default <B> LateScheduler<B> thenApply(final Function<A, B> function) {
+        LateScheduler<B> next = new FixedLateScheduler<>();
+        whenComplete((target, error) -> {
+            if (error != null) {
+                next.complete(null, error);
+                return;
+            }
+
+            B result;
+            try {
+                result = function.apply(target);
+            } catch (Throwable ex) {
+                next.complete(null, ex);
+                return;
+            }
+            next.complete(result);
+        });
+        return next;
+    }
+
+    /**
+     * Create a new scheduler which will be completed
+     * when the scheduler returned by the function is
+     * completed
+     *
+     * @param function the function to apply
+     * @param <B> the new scheduler type
+     * @return the new scheduler
+     */
+    default <B> LateScheduler<B> thenCompose(final Function<A, LateScheduler<B>> function) {
+        LateScheduler<B> next = new FixedLateScheduler<>();
+        whenComplete((target, error) -> {
+            if (error != null) {
+                next.complete(null, error);
+                return;
+            }
+
+            try {
+                function.apply(target).whenComplete((result, failure) -> next.complete(result, failure));
+            } catch (Throwable ex) {
+                next.complete(null, ex);
+            }
+        });
+        return next;
+    }
+
+    /**
+     * Complete the scheduler with a {@link TimeoutException}
+     * if it has not been completed after the specified time
+     *
+     * @param time the maximum time to wait
+     * @param unit the time unit
+     * @return this instance
+     */
+    default LateScheduler<A> timeout(final long time, final TimeUnit unit) {
+        if (!isCompleted() && !isCancelled()) {
+            ScheduledFuture<?> task = LateTimeout.schedule(() -> {
+                if (!isCompleted() && !isCancelled())
+                    complete(get(), new TimeoutException("Late scheduler not completed after " + time + " " + unit.name().toLowerCase()));
+            }, time, unit);
+            whenComplete(() -> task.cancel(false));
+        }
+
+        return this;
+    }
+
+    /**
+     * Get the scheduler as a completable future
+     *
+     * @return the scheduler future
+     */
+    default CompletableFuture<A> toCompletableFuture() {
+        CompletableFuture<A> future = new CompletableFuture<>();
+        whenComplete((target, error) -> {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(target);
+            }
+        });
+        whenCancelled(() -> future.cancel(false));
+        return future;
+    }
+
+    /**
+     * Create a new scheduler which will be completed
+     * when all the specified schedulers are completed
+     *
+     * @param schedulers the schedulers to wait for
+     * @param <A> the schedulers type
+     * @return the new scheduler, containing the schedulers
+     * objects in the same order
+     */
+    static <A> LateScheduler<List<A>> allOf(final Collection<? extends LateScheduler<A>> schedulers) {
+        List<CompletableFuture<A>> futures = new ArrayList<>();
+        for (LateScheduler<A> scheduler : schedulers)
+            futures.add(scheduler.toCompletableFuture());
+
+        FixedLateScheduler<List<A>> result = new FixedLateScheduler<>();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, error) -> {
+            if (error != null) {
+                result.complete(null, error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            } else {
+                List<A> objects = new ArrayList<>();
+                for (CompletableFuture<A> future : futures)
+                    objects.add(future.join());
+                result.complete(objects);
+            }
+        });
+
+        return result;
+    }
+
     /**
      * Complete another single consumer with these
      * objects
@@ -0,0 +1,178 @@
+package ml.karmaconfigs.api.common.timer.scheduler;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Karma latency histogram. Values are stored in
+ * power-of-two microsecond buckets, so recording
+ * a value is lock-free and never allocates
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The amount of buckets, the last one holds
+     * everything over ~2 hours
+     */
+    private final static int BUCKETS = 34;
+
+    /**
+     * The bucket counts
+     */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    /**
+     * The amount of recorded values
+     */
+    private final AtomicLong count = new AtomicLong();
+    /**
+     * The sum of all the recorded values
+     */
+    private final AtomicLong total = new AtomicLong();
+    /**
+     * The highest recorded value
+     */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record a value
+     *
+     * @param nanos the value in nanoseconds
+     */
+    public void record(final long nanos) {
+        long value = Math.max(0L, nanos);
+        long micros = TimeUnit.NANOSECONDS.toMicros(value);
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+
+        this.buckets.incrementAndGet(bucket);
+        this.count.incrementAndGet();
+        this.total.addAndGet(value);
+
+        long current;
+        do {
+            current = this.max.get();
+        } while (value > current && !this.max.compareAndSet(current, value));
+    }
+
+    /**
+     * Get the amount of recorded values
+     *
+     * @return the recorded values amount
+     */
+    public long count() {
+        return this.count.get();
+    }
+
+    /**
+     * Get the mean value
+     *
+     * @param unit the time unit
+     * @return the mean value in the specified unit
+     */
+    public double mean(final TimeUnit unit) {
+        long amount = this.count.get();
+        if (amount == 0L)
+            return 0D;
+        return (double) unit.convert(this.total.get(), TimeUnit.NANOSECONDS) / amount;
+    }
+
+    /**
+     * Get the highest recorded value
+     *
+     * @param unit the time unit
+     * @return the highest value in the specified unit
+     */
+    public long max(final TimeUnit unit) {
+        return unit.convert(this.max.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the approximated value under which the
+     * specified percentage of values are
+     *
+     * @param percentile the percentile (from 0 to 100)
+     * @param unit the time unit
+     * @return the percentile upper bound in the specified unit
+     */
+    public long percentile(final double percentile, final TimeUnit unit) {
+        long amount = this.count.get();
+        if (amount == 0L)
+            return 0L;
+
+        long target = (long) Math.ceil(amount * (Math.max(0D, Math.min(100D, percentile)) / 100D));
+        long seen = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.buckets.get(i);
+            if (seen >= Math.max(1L, target))
+                return Math.min(unit.convert(i == 0 ? 1L : 1L << i, TimeUnit.MICROSECONDS), max(unit));
+        }
+
+        return max(unit);
+    }
+
+    /**
+     * Get a copy of the histogram buckets, being bucket
+     * N the amount of values between 2^(N-1) and 2^N
+     * microseconds
+     *
+     * @return the histogram buckets
+     */
+    public long[] buckets() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++)
+            copy[i] = this.buckets.get(i);
+
+        return copy;
+    }
+
+    /**
+     * Clear the recorded values
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++)
+            this.buckets.set(i, 0L);
+        this.count.set(0L);
+        this.total.set(0L);
+        this.max.set(0L);
+    }
+
+    /**
+     * Get the histogram summary
+     *
+     * @return the histogram summary
+     */
+    @Override
+    public String toString() {
+        return "count=" + count() +
+                ", mean=" + String.format("%.2f", mean(TimeUnit.MICROSECONDS) / 1000D) + "ms" +
+                ", p50=" + percentile(50, TimeUnit.MILLISECONDS) + "ms" +
+                ", p99=" + percentile(99, TimeUnit.MILLISECONDS) + "ms" +
+                ", max=" + max(TimeUnit.MILLISECONDS) + "ms";
+    }
+}
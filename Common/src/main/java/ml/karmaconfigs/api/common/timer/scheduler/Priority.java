@@ -0,0 +1,74 @@
+package ml.karmaconfigs.api.common.timer.scheduler;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Karma scheduler task priority
+ */
+public enum Priority {
+    /**
+     * Time-sensitive tasks, such as player-facing
+     * completions or update checks
+     */
+    HIGH(0L),
+    /**
+     * Default tasks priority
+     */
+    NORMAL(2500L),
+    /**
+     * Background tasks, such as log writes
+     */
+    LOW(TimeUnit.SECONDS.toMillis(10L));
+
+    /**
+     * The amount of milliseconds a task of this priority
+     * yields to higher priorities before being treated as
+     * urgent, so it never starves
+     */
+    private final long aging;
+
+    /**
+     * Initialize the priority
+     *
+     * @param agingMillis the priority aging milliseconds
+     */
+    Priority(final long agingMillis) {
+        this.aging = agingMillis;
+    }
+
+    /**
+     * Get the deadline a task of this priority
+     * gets when queued at the specified time
+     *
+     * @param queuedMillis the time the task has been queued at
+     * @return the task effective deadline
+     */
+    public long deadline(final long queuedMillis) {
+        return queuedMillis + this.aging;
+    }
+}
@@ -25,6 +25,7 @@ package ml.karmaconfigs.api.common.timer.scheduler;
  *  SOFTWARE.
  */
 
+import java.time.Instant;
 import java.util.function.Consumer;
 
 /**
@@ -56,6 +57,60 @@ public abstract class Scheduler {
      */
     public abstract int queue(final Runnable paramRunnable);
 
+    /**
+     * Queue another task to the scheduler with the
+     * specified priority
+     *
+     * @param task the task to perform
+     * @param priority the task priority
+     * @return the task id
+     */
+    public int queue(final Runnable task, final Priority priority) {
+        return queue(task);
+    }
+
+    /**
+     * Queue another task to the scheduler, which should
+     * run before the specified deadline
+     *
+     * @param task the task to perform
+     * @param deadline the task deadline
+     * @return the task id
+     */
+    public int queue(final Runnable task, final Instant deadline) {
+        return queue(task);
+    }
+
+    /**
+     * Get the time the tasks of the specified priority
+     * have waited in queue before being run
+     *
+     * @param priority the task priority
+     * @return the priority queue latency
+     */
+    public LatencyHistogram latency(final Priority priority) {
+        return new LatencyHistogram();
+    }
+
+    /**
+     * Get the time the scheduler tasks have taken
+     * to run
+     *
+     * @return the tasks execution time
+     */
+    public LatencyHistogram execution() {
+        return new LatencyHistogram();
+    }
+
+    /**
+     * Get the amount of tasks waiting to be run
+     *
+     * @return the scheduler queue depth
+     */
+    public int pending() {
+        return 0;
+    }
+
     /**
      * Get the current task id
      *
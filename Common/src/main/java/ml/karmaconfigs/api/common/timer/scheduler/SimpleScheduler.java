@@ -31,9 +31,14 @@ import ml.karmaconfigs.api.common.timer.TimeCondition;
 import ml.karmaconfigs.api.common.timer.scheduler.errors.TimerAlreadyStarted;
 
 import javax.swing.*;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
@@ -42,14 +47,15 @@ import java.util.function.Consumer;
 public abstract class SimpleScheduler {
 
     /**
-     * The id/scheduler map to obtain a scheduler from its ID
+     * The source key/live schedulers map, so a source tasks
+     * can be cancelled without looking at other sources tasks
      */
-    private static final Map<Integer, SimpleScheduler> id_instance = new ConcurrentHashMap<>();
+    private static final Map<String, Set<SimpleScheduler>> source_schedulers = new ConcurrentHashMap<>();
 
     /**
      * The generated IDs, being the latest generated this value
      */
-    private static int global_id = 0;
+    private static final AtomicInteger global_id = new AtomicInteger();
 
     /**
      * The scheduler source
@@ -68,8 +74,19 @@ public abstract class SimpleScheduler {
      */
     public SimpleScheduler(final KarmaSource owner) {
         this.source = owner;
-        this.id = ++global_id;
-        id_instance.put(this.id, this);
+        this.id = global_id.incrementAndGet();
+    }
+
+    /**
+     * Initialize the scheduler as a view of an already
+     * existing scheduler
+     *
+     * @param owner the scheduler source
+     * @param builtId the existing scheduler ID
+     */
+    protected SimpleScheduler(final KarmaSource owner, final int builtId) {
+        this.source = owner;
+        this.id = builtId;
     }
 
     /**
@@ -78,21 +95,71 @@ public abstract class SimpleScheduler {
      * @param owner the scheduler source
      */
     public static void cancelFor(final KarmaSource owner) {
-        for (int id : id_instance.keySet()) {
-            SimpleScheduler scheduler = id_instance.getOrDefault(id, null);
-            if (scheduler != null && scheduler.source == null) {
-                APISource.getConsole().send("&cCancelling timer with id {0} because its source is not valid");
+        Set<SimpleScheduler> invalid = source_schedulers.remove(key(null));
+        if (invalid != null) {
+            for (SimpleScheduler scheduler : invalid) {
+                APISource.getConsole().send("&cCancelling timer with id {0} because its source is not valid", scheduler.id);
                 scheduler.cancel();
-                continue;
             }
-            if (scheduler != null &&
-                    scheduler.source.isSource(owner)) {
+        }
+
+        Set<SimpleScheduler> schedulers = source_schedulers.remove(key(owner));
+        if (schedulers != null) {
+            for (SimpleScheduler scheduler : schedulers)
                 scheduler.cancel();
-                id_instance.remove(id);
-            }
         }
     }
 
+    /**
+     * Get the live schedulers of the specified source
+     *
+     * @param owner the schedulers source
+     * @return the source live schedulers
+     */
+    public static Set<SimpleScheduler> getSchedulers(final KarmaSource owner) {
+        Set<SimpleScheduler> schedulers = source_schedulers.get(key(owner));
+        if (schedulers == null)
+            return Collections.emptySet();
+
+        return Collections.unmodifiableSet(new HashSet<>(schedulers));
+    }
+
+    /**
+     * Add the scheduler to its source live schedulers,
+     * should be called when the scheduler starts
+     */
+    protected final void register() {
+        source_schedulers.computeIfAbsent(key(this.source), k -> ConcurrentHashMap.newKeySet()).add(this);
+    }
+
+    /**
+     * Remove the scheduler from its source live schedulers,
+     * should be called when the scheduler ends or gets
+     * cancelled
+     */
+    protected final void unregister() {
+        Set<SimpleScheduler> schedulers = source_schedulers.get(key(this.source));
+        if (schedulers != null) {
+            schedulers.remove(this);
+            if (schedulers.isEmpty())
+                source_schedulers.remove(key(this.source), schedulers);
+        }
+    }
+
+    /**
+     * Get the registry key of a source, matching the
+     * {@link KarmaSource#isSource(KarmaSource)} criteria
+     *
+     * @param owner the source
+     * @return the source key
+     */
+    private static String key(final KarmaSource owner) {
+        if (owner == null)
+            return "";
+
+        return owner.getClass().getName().toLowerCase(Locale.ROOT) + ":" + owner.name();
+    }
+
     /**
      * Cancel the scheduler
      */
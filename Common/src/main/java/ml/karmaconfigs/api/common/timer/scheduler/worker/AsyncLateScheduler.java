@@ -25,199 +25,43 @@ package ml.karmaconfigs.api.common.timer.scheduler.worker;
  *  SOFTWARE.
  */
 
-import ml.karmaconfigs.api.common.karma.APISource;
-import ml.karmaconfigs.api.common.timer.scheduler.CancellableScheduler;
-import ml.karmaconfigs.api.common.timer.scheduler.LateScheduler;
-
-import java.util.function.BiConsumer;
-import java.util.function.Consumer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
- * This scheduler will run a task when X is completed
+ * This scheduler will run a task when X is completed. Listeners run
+ * on the scheduler executor
  *
  * @param <A> the A object consumer
  */
-public final class AsyncLateScheduler<A> implements LateScheduler<A> {
-
-    /**
-     * Basic when complete action
-     */
-    private Runnable whenCompleteRunner;
-    /**
-     * When cancel action
-     */
-    private Runnable onCancel;
-
-    /**
-     * When complete action
-     */
-    private Consumer<A> whenComplete;
-
-    /**
-     * When complete action with error
-     */
-    private BiConsumer<A, Throwable> whenCompleteWithError;
-
-    /**
-     * If the scheduler is cancelled
-     */
-    private boolean cancelled = false;
-    /**
-     * If the scheduler is completed
-     */
-    private boolean completed = false;
-
-
-    /**
-     * The scheduler type A object
-     */
-    private A typeA = null;
-
-    /**
-     * Set the complete action
-     *
-     * @param action the action to perform
-     *               when the scheduler is completed
-     * @return this instance
-     */
-    @Override
-    public LateScheduler<A> whenComplete(final Runnable action) {
-        if (!this.cancelled && !this.completed)
-            this.whenCompleteRunner = action;
-        return this;
-    }
-
-    /**
-     * Set the complete action
-     *
-     * @param action the action to perform
-     *               when the scheduler is completed
-     * @return this instance
-     */
-    @Override
-    public LateScheduler<A> whenComplete(final Consumer<A> action) {
-        if (!this.cancelled && !this.completed)
-            this.whenComplete = action;
-        return this;
-    }
-
-    /**
-     * Set the complete action
-     *
-     * @param caughtAction the action to perform
-     *                     when the scheduler is completed
-     * @return this instance
-     */
-    @Override
-    public LateScheduler<A> whenComplete(final BiConsumer<A, Throwable> caughtAction) {
-        if (!this.cancelled && !this.completed)
-            this.whenCompleteWithError = caughtAction;
-        return this;
-    }
+public final class AsyncLateScheduler<A> extends FutureLateScheduler<A> {
 
     /**
-     * Get if the scheduler is completed
-     *
-     * @return if the scheduler is complete
+     * Initialize the scheduler, its listeners will
+     * run on the KarmaAPI async workers
      */
-    @Override
-    public boolean isCompleted() {
-        return this.completed;
+    public AsyncLateScheduler() {
+        this(LateExecutors.ASYNC);
     }
 
     /**
-     * Get the A object
+     * Initialize the scheduler
      *
-     * @return the A object
+     * @param worker the executor that will run
+     *               the scheduler listeners
      */
-    @Override
-    public A get() {
-        return typeA;
+    public AsyncLateScheduler(final Executor worker) {
+        this(worker, new CompletableFuture<>());
     }
 
     /**
-     * Complete the scheduler
+     * Initialize the scheduler
      *
-     * @param target the type A object
-     */
-    @Override
-    public void complete(final A target) {
-        if (this.cancelled || this.completed)
-            return;
-        try {
-            APISource.asyncScheduler().queue(() -> {
-                if (this.whenComplete != null)
-                    this.whenComplete.accept(target);
-                if (this.whenCompleteWithError != null)
-                    this.whenCompleteWithError.accept(target, null);
-                if (this.whenCompleteRunner != null)
-                    this.whenCompleteRunner.run();
-
-                typeA = target;
-            });
-            this.completed = true;
-        } catch (Throwable ex) {
-            ex.printStackTrace();
-        }
-    }
-
-    /**
-     * Complete the scheduler
-     *
-     * @param target the type A object
-     * @param error any error that has been thrown
-     */
-    @Override
-    public void complete(final A target, final Throwable error) {
-        if (this.cancelled || this.completed)
-            return;
-        try {
-            APISource.asyncScheduler().queue(() -> {
-                if (this.whenCompleteWithError != null)
-                    this.whenCompleteWithError.accept(target, error);
-                if (this.whenComplete != null)
-                    this.whenComplete.accept(target);
-                if (this.whenCompleteRunner != null)
-                    this.whenCompleteRunner.run();
-
-                typeA = target;
-            });
-            this.completed = true;
-        } catch (Throwable ex) {
-            ex.printStackTrace();
-        }
-    }
-
-    /**
-     * Set the cancelled action
-     *
-     * @param action the action to perform
-     *               when the timer is cancelled
-     * @return a cancellable instance of this
-     */
-    @Override
-    public CancellableScheduler whenCancelled(Runnable action) {
-        this.onCancel = action;
-        return this;
-    }
-
-    /**
-     * Get if the scheduler is cancelled
-     *
-     * @return if the scheduler is cancelled
-     */
-    @Override
-    public boolean isCancelled() {
-        return this.cancelled;
-    }
-
-    /**
-     * Cancel the scheduler
+     * @param worker the executor that will run
+     *               the scheduler listeners
+     * @param source the scheduler future
      */
-    @Override
-    public void setCancelled() {
-        this.cancelled = true;
-        if (this.onCancel != null)
-            this.onCancel.run();
+    AsyncLateScheduler(final Executor worker, final CompletableFuture<A> source) {
+        super(worker, source);
     }
 }
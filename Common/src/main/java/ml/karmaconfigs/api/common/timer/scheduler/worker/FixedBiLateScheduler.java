@@ -25,218 +25,19 @@ package ml.karmaconfigs.api.common.timer.scheduler.worker;
  *  SOFTWARE.
  */
 
-import ml.karmaconfigs.api.common.karma.APISource;
-import ml.karmaconfigs.api.common.timer.scheduler.BiLateScheduler;
-import ml.karmaconfigs.api.common.timer.scheduler.CancellableScheduler;
-import ml.karmaconfigs.api.common.utils.TriConsumer;
-
-import java.util.function.BiConsumer;
-
 /**
- * This scheduler will run a task when X is completed
+ * This scheduler will run a task when X is completed. Listeners run
+ * directly on the thread that completes the scheduler
  *
  * @param <A> the A object consumer
  * @param <B> the B object consumer
  */
-public final class FixedBiLateScheduler<A, B> implements BiLateScheduler<A, B> {
-
-    /**
-     * Basic when complete action
-     */
-    private Runnable whenCompleteRunner;
-    /**
-     * When cancel action
-     */
-    private Runnable onCancel;
-
-    /**
-     * When complete action
-     */
-    private BiConsumer<A, B> whenComplete;
-
-    /**
-     * When complete action with error
-     */
-    private TriConsumer<A, B, Throwable> whenCompleteWithError;
-
-    /**
-     * If the scheduler is cancelled
-     */
-    private boolean cancelled = false;
-    /**
-     * If the scheduler is completed
-     */
-    private boolean completed = false;
-
-
-    /**
-     * The scheduler type A object
-     */
-    private A typeA = null;
-    /**
-     * The scheduler type B object
-     */
-    private B typeB = null;
-
-    /**
-     * Set the complete action
-     *
-     * @param action the action to perform
-     *               when the scheduler is completed
-     * @return this instance
-     */
-    @Override
-    public BiLateScheduler<A, B> whenComplete(final Runnable action) {
-        if (!this.cancelled && !this.completed)
-            this.whenCompleteRunner = action;
-        return this;
-    }
-
-    /**
-     * Set the complete action
-     *
-     * @param action the action to perform
-     *               when the scheduler is completed
-     * @return this instance
-     */
-    @Override
-    public BiLateScheduler<A, B> whenComplete(final BiConsumer<A, B> action) {
-        if (!this.cancelled && !this.completed)
-            this.whenComplete = action;
-        return this;
-    }
-
-    /**
-     * Set the complete action
-     *
-     * @param caughtAction the action to perform
-     *                     when the scheduler is completed
-     * @return this instance
-     */
-    @Override
-    public BiLateScheduler<A, B> whenComplete(final TriConsumer<A, B, Throwable> caughtAction) {
-        if (!this.cancelled && !this.completed)
-            this.whenCompleteWithError = caughtAction;
-        return this;
-    }
-
-    /**
-     * Get if the scheduler is completed
-     *
-     * @return if the shcheduler is complete
-     */
-    @Override
-    public boolean isCompleted() {
-        return this.completed;
-    }
-
-    /**
-     * Get the A object
-     *
-     * @return the A object
-     */
-    @Override
-    public A getObject() {
-        return typeA;
-    }
-
-    /**
-     * Get the B object
-     *
-     * @return the B object
-     */
-    @Override
-    public B getSubObject() {
-        return typeB;
-    }
-
-    /**
-     * Complete the scheduler
-     *
-     * @param target the type A object
-     * @param subTarget the type B object
-     */
-    @Override
-    public void complete(final A target, final B subTarget) {
-        if (this.cancelled || this.completed)
-            return;
-        try {
-            APISource.syncScheduler().queue(() -> {
-                if (this.whenComplete != null)
-                    this.whenComplete.accept(target, subTarget);
-                if (this.whenCompleteWithError != null)
-                    this.whenCompleteWithError.accept(target, subTarget, null);
-                if (this.whenCompleteRunner != null)
-                    this.whenCompleteRunner.run();
-
-                typeA = target;
-                typeB = subTarget;
-            });
-            this.completed = true;
-        } catch (Throwable ex) {
-            ex.printStackTrace();
-        }
-    }
-
-    /**
-     * Complete the scheduler
-     *
-     * @param target the type A object
-     * @param subTarget the type B object
-     * @param error any error that has been thrown
-     */
-    @Override
-    public void complete(final A target, final B subTarget, final Throwable error) {
-        if (this.cancelled || this.completed)
-            return;
-        try {
-            APISource.syncScheduler().queue(() -> {
-                if (this.whenCompleteWithError != null)
-                    this.whenCompleteWithError.accept(target, subTarget, error);
-                if (this.whenComplete != null)
-                    this.whenComplete.accept((A) target, (B) subTarget);
-                if (this.whenCompleteRunner != null)
-                    this.whenCompleteRunner.run();
-
-                typeA = target;
-                typeB = subTarget;
-            });
-            this.completed = true;
-        } catch (Throwable ex) {
-            ex.printStackTrace();
-        }
-    }
-
-    /**
-     * Set the cancelled action
-     *
-     * @param action the action to perform
-     *               when the timer is cancelled
-     * @return a cancellable instance of this
-     */
-    @Override
-    public CancellableScheduler whenCancelled(final Runnable action) {
-        this.onCancel = action;
-        return this;
-    }
-
-    /**
-     * Get if the scheduler is cancelled
-     *
-     * @return if the scheduler is cancelled
-     */
-    @Override
-    public boolean isCancelled() {
-        return this.cancelled;
-    }
+public final class FixedBiLateScheduler<A, B> extends FutureBiLateScheduler<A, B> {
 
     /**
-     * Cancel the scheduler
+     * Initialize the scheduler
      */
-    @Override
-    public void setCancelled() {
-        this.cancelled = true;
-        if (this.onCancel != null)
-            this.onCancel.run();
+    public FixedBiLateScheduler() {
+        super(null);
     }
 }
@@ -25,199 +25,29 @@ package ml.karmaconfigs.api.common.timer.scheduler.worker;
  *  SOFTWARE.
  */
 
-import ml.karmaconfigs.api.common.karma.APISource;
-import ml.karmaconfigs.api.common.timer.scheduler.CancellableScheduler;
-import ml.karmaconfigs.api.common.timer.scheduler.LateScheduler;
-
-import java.util.function.BiConsumer;
-import java.util.function.Consumer;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * This scheduler will run a task when X is completed
+ * This scheduler will run a task when X is completed. Listeners run
+ * directly on the thread that completes the scheduler
  *
  * @param <A> the A object consumer
  */
-public final class FixedLateScheduler<A> implements LateScheduler<A> {
-
-    /**
-     * Basic when complete action
-     */
-    private Runnable whenCompleteRunner;
-    /**
-     * When cancel action
-     */
-    private Runnable onCancel;
-
-    /**
-     * When complete action
-     */
-    private Consumer<A> whenComplete;
-
-    /**
-     * When complete action with error
-     */
-    private BiConsumer<A, Throwable> whenCompleteWithError;
-
-    /**
-     * If the scheduler is cancelled
-     */
-    private boolean cancelled = false;
-    /**
-     * If the scheduler is completed
-     */
-    private boolean completed = false;
-
-
-    /**
-     * The scheduler type A object
-     */
-    private A typeA = null;
-
-    /**
-     * Set the complete action
-     *
-     * @param action the action to perform
-     *               when the scheduler is completed
-     * @return this instance
-     */
-    @Override
-    public LateScheduler<A> whenComplete(final Runnable action) {
-        if (!this.cancelled && !this.completed)
-            this.whenCompleteRunner = action;
-        return this;
-    }
-
-    /**
-     * Set the complete action
-     *
-     * @param action the action to perform
-     *               when the scheduler is completed
-     * @return this instance
-     */
-    @Override
-    public LateScheduler<A> whenComplete(final Consumer<A> action) {
-        if (!this.cancelled && !this.completed)
-            this.whenComplete = action;
-        return this;
-    }
+public final class FixedLateScheduler<A> extends FutureLateScheduler<A> {
 
     /**
-     * Set the complete action
-     *
-     * @param caughtAction the action to perform
-     *                     when the scheduler is completed
-     * @return this instance
+     * Initialize the scheduler
      */
-    @Override
-    public LateScheduler<A> whenComplete(final BiConsumer<A, Throwable> caughtAction) {
-        if (!this.cancelled && !this.completed)
-            this.whenCompleteWithError = caughtAction;
-        return this;
+    public FixedLateScheduler() {
+        this(new CompletableFuture<>());
     }
 
     /**
-     * Get if the scheduler is completed
+     * Initialize the scheduler
      *
-     * @return if the shcheduler is complete
-     */
-    @Override
-    public boolean isCompleted() {
-        return this.completed;
-    }
-
-    /**
-     * Get the A object
-     *
-     * @return the A object
-     */
-    @Override
-    public A get() {
-        return typeA;
-    }
-
-    /**
-     * Complete the scheduler
-     *
-     * @param target the type A object
-     */
-    @Override
-    public void complete(final A target) {
-        if (this.cancelled || this.completed)
-            return;
-        try {
-            APISource.syncScheduler().queue(() -> {
-                if (this.whenComplete != null)
-                    this.whenComplete.accept(target);
-                if (this.whenCompleteWithError != null)
-                    this.whenCompleteWithError.accept(target, null);
-                if (this.whenCompleteRunner != null)
-                    this.whenCompleteRunner.run();
-
-                typeA = target;
-            });
-            this.completed = true;
-        } catch (Throwable ex) {
-            ex.printStackTrace();
-        }
-    }
-
-    /**
-     * Complete the scheduler
-     *
-     * @param target the type A object
-     * @param error any error that has been thrown
-     */
-    @Override
-    public void complete(final A target, final Throwable error) {
-        if (this.cancelled || this.completed)
-            return;
-        try {
-            APISource.syncScheduler().queue(() -> {
-                if (this.whenCompleteWithError != null)
-                    this.whenCompleteWithError.accept(target, error);
-                if (this.whenComplete != null)
-                    this.whenComplete.accept(target);
-                if (this.whenCompleteRunner != null)
-                    this.whenCompleteRunner.run();
-
-                typeA = target;
-            });
-            this.completed = true;
-        } catch (Throwable ex) {
-            ex.printStackTrace();
-        }
-    }
-
-    /**
-     * Set the cancelled action
-     *
-     * @param action the action to perform
-     *               when the timer is cancelled
-     * @return a cancellable instance of this
-     */
-    @Override
-    public CancellableScheduler whenCancelled(Runnable action) {
-        this.onCancel = action;
-        return this;
-    }
-
-    /**
-     * Get if the scheduler is cancelled
-     *
-     * @return if the scheduler is cancelled
-     */
-    @Override
-    public boolean isCancelled() {
-        return this.cancelled;
-    }
-
-    /**
-     * Cancel the scheduler
+     * @param source the scheduler future
      */
-    @Override
-    public void setCancelled() {
-        this.cancelled = true;
-        if (this.onCancel != null)
-            this.onCancel.run();
+    FixedLateScheduler(final CompletableFuture<A> source) {
+        super(null, source);
     }
 }
@@ -0,0 +1,201 @@
+package ml.karmaconfigs.api.common.timer.scheduler.worker;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import ml.karmaconfigs.api.common.timer.scheduler.BiLateScheduler;
+import ml.karmaconfigs.api.common.timer.scheduler.LateScheduler;
+import ml.karmaconfigs.api.common.utils.TriConsumer;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * Bi-object late scheduler backed by a completable future,
+ * being the entry key the A object and the entry value the
+ * B object
+ *
+ * @param <A> the A object consumer
+ * @param <B> the B object consumer
+ */
+abstract class FutureBiLateScheduler<A, B> extends FutureScheduler<Map.Entry<A, B>> implements BiLateScheduler<A, B> {
+
+    /**
+     * Initialize the scheduler
+     *
+     * @param worker the executor that will run the
+     *               scheduler listeners, null to run
+     *               them on the completing thread
+     */
+    FutureBiLateScheduler(final Executor worker) {
+        super(worker, new CompletableFuture<>());
+    }
+
+    /**
+     * Set the complete action
+     *
+     * @param action the action to perform
+     *               when the scheduler is completed
+     * @return this instance
+     */
+    @Override
+    public BiLateScheduler<A, B> whenComplete(final Runnable action) {
+        listen((entry, error) -> action.run());
+        return this;
+    }
+
+    /**
+     * Set the complete action
+     *
+     * @param action the action to perform
+     *               when the scheduler is completed
+     * @return this instance
+     */
+    @Override
+    public BiLateScheduler<A, B> whenComplete(final BiConsumer<A, B> action) {
+        listen((entry, error) -> action.accept(objectOf(entry), subObjectOf(entry)));
+        return this;
+    }
+
+    /**
+     * Set the complete action
+     *
+     * @param caughtAction the action to perform
+     *                     when the scheduler is completed
+     * @return this instance
+     */
+    @Override
+    public BiLateScheduler<A, B> whenComplete(final TriConsumer<A, B, Throwable> caughtAction) {
+        listen((entry, error) -> caughtAction.accept(objectOf(entry), subObjectOf(entry), error));
+        return this;
+    }
+
+    /**
+     * Get the A object
+     *
+     * @return the A object
+     */
+    @Override
+    public A getObject() {
+        return objectOf(value());
+    }
+
+    /**
+     * Get the B object
+     *
+     * @return the B object
+     */
+    @Override
+    public B getSubObject() {
+        return subObjectOf(value());
+    }
+
+    /**
+     * Complete the scheduler
+     *
+     * @param target the type A object
+     * @param subTarget the type B object
+     */
+    @Override
+    public void complete(final A target, final B subTarget) {
+        completeValue(new AbstractMap.SimpleImmutableEntry<>(target, subTarget), null);
+    }
+
+    /**
+     * Complete the scheduler
+     *
+     * @param target the type A object
+     * @param subTarget the type B object
+     * @param error any error that has been thrown
+     */
+    @Override
+    public void complete(final A target, final B subTarget, final Throwable error) {
+        completeValue(new AbstractMap.SimpleImmutableEntry<>(target, subTarget), error);
+    }
+
+    /**
+     * Create a new scheduler which will be completed
+     * with the result of the function applied to this
+     * scheduler objects
+     *
+     * @param function the function to apply
+     * @param <C> the new scheduler type
+     * @return the new scheduler
+     */
+    @Override
+    public <C> LateScheduler<C> thenApply(final BiFunction<A, B, C> function) {
+        return FutureLateScheduler.of(this.executor, this.future.thenApply(entry -> function.apply(entry.getKey(), entry.getValue())));
+    }
+
+    /**
+     * Create a new scheduler which will be completed
+     * when the scheduler returned by the function is
+     * completed
+     *
+     * @param function the function to apply
+     * @param <C> the new scheduler type
+     * @return the new scheduler
+     */
+    @Override
+    public <C> LateScheduler<C> thenCompose(final BiFunction<A, B, LateScheduler<C>> function) {
+        return FutureLateScheduler.of(this.executor, this.future.thenCompose(entry -> function.apply(entry.getKey(), entry.getValue()).toCompletableFuture()));
+    }
+
+    /**
+     * Get the scheduler as a completable future, being
+     * the entry key the A object and the entry value
+     * the B object
+     *
+     * @return the scheduler future
+     */
+    @Override
+    public CompletableFuture<Map.Entry<A, B>> toCompletableFuture() {
+        return this.future;
+    }
+
+    /**
+     * Get the A object of an entry
+     *
+     * @param entry the entry
+     * @return the entry A object
+     */
+    private A objectOf(final Map.Entry<A, B> entry) {
+        return (entry != null ? entry.getKey() : null);
+    }
+
+    /**
+     * Get the B object of an entry
+     *
+     * @param entry the entry
+     * @return the entry B object
+     */
+    private B subObjectOf(final Map.Entry<A, B> entry) {
+        return (entry != null ? entry.getValue() : null);
+    }
+}
@@ -0,0 +1,176 @@
+package ml.karmaconfigs.api.common.timer.scheduler.worker;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import ml.karmaconfigs.api.common.timer.scheduler.LateScheduler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Single-object late scheduler backed by a completable future
+ *
+ * @param <A> the A object consumer
+ */
+abstract class FutureLateScheduler<A> extends FutureScheduler<A> implements LateScheduler<A> {
+
+    /**
+     * Initialize the scheduler
+     *
+     * @param worker the executor that will run the
+     *               scheduler listeners, null to run
+     *               them on the completing thread
+     * @param source the scheduler future
+     */
+    FutureLateScheduler(final Executor worker, final CompletableFuture<A> source) {
+        super(worker, source);
+    }
+
+    /**
+     * Create a scheduler of a future
+     *
+     * @param worker the executor that will run the
+     *               scheduler listeners, null to run
+     *               them on the completing thread
+     * @param source the scheduler future
+     * @param <B> the scheduler type
+     * @return the future scheduler
+     */
+    static <B> LateScheduler<B> of(final Executor worker, final CompletableFuture<B> source) {
+        return (worker == null ? new FixedLateScheduler<>(source) : new AsyncLateScheduler<>(worker, source));
+    }
+
+    /**
+     * Set the complete action
+     *
+     * @param action the action to perform
+     *               when the scheduler is completed
+     * @return this instance
+     */
+    @Override
+    public LateScheduler<A> whenComplete(final Runnable action) {
+        listen((target, error) -> action.run());
+        return this;
+    }
+
+    /**
+     * Set the complete action
+     *
+     * @param action the action to perform
+     *               when the scheduler is completed
+     * @return this instance
+     */
+    @Override
+    public LateScheduler<A> whenComplete(final Consumer<A> action) {
+        listen((target, error) -> action.accept(target));
+        return this;
+    }
+
+    /**
+     * Set the complete action
+     *
+     * @param caughtAction the action to perform
+     *                     when the scheduler is completed
+     * @return this instance
+     */
+    @Override
+    public LateScheduler<A> whenComplete(final BiConsumer<A, Throwable> caughtAction) {
+        listen(caughtAction);
+        return this;
+    }
+
+    /**
+     * Get the A object
+     *
+     * @return the A object
+     */
+    @Override
+    public A get() {
+        return value();
+    }
+
+    /**
+     * Complete the scheduler
+     *
+     * @param target the type A object
+     */
+    @Override
+    public void complete(final A target) {
+        completeValue(target, null);
+    }
+
+    /**
+     * Complete the scheduler
+     *
+     * @param target the type A object
+     * @param error any error that has been thrown
+     */
+    @Override
+    public void complete(final A target, final Throwable error) {
+        completeValue(target, error);
+    }
+
+    /**
+     * Create a new scheduler which will be completed
+     * with the result of the function applied to this
+     * scheduler object
+     *
+     * @param function the function to apply
+     * @param <B> the new scheduler type
+     * @return the new scheduler
+     */
+    @Override
+    public <B> LateScheduler<B> thenApply(final Function<A, B> function) {
+        return of(this.executor, this.future.thenApply(function));
+    }
+
+    /**
+     * Create a new scheduler which will be completed
+     * when the scheduler returned by the function is
+     * completed
+     *
+     * @param function the function to apply
+     * @param <B> the new scheduler type
+     * @return the new scheduler
+     */
+    @Override
+    public <B> LateScheduler<B> thenCompose(final Function<A, LateScheduler<B>> function) {
+        return of(this.executor, this.future.thenCompose(target -> function.apply(target).toCompletableFuture()));
+    }
+
+    /**
+     * Get the scheduler as a completable future
+     *
+     * @return the scheduler future
+     */
+    @Override
+    public CompletableFuture<A> toCompletableFuture() {
+        return this.future;
+    }
+}
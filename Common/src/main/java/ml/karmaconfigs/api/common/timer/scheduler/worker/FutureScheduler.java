@@ -0,0 +1,201 @@
+package ml.karmaconfigs.api.common.timer.scheduler.worker;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import ml.karmaconfigs.api.common.timer.scheduler.CancellableScheduler;
+
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+/**
+ * Late scheduler backed by a completable future
+ *
+ * @param <T> the future type
+ */
+abstract class FutureScheduler<T> implements CancellableScheduler {
+
+    /**
+     * The scheduler future
+     */
+    final CompletableFuture<T> future;
+
+    /**
+     * The executor that runs the scheduler listeners,
+     * null to run them on the completing thread
+     */
+    final Executor executor;
+
+    /**
+     * When cancel actions
+     */
+    private final Queue<Runnable> onCancel = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The scheduler value, kept when the scheduler
+     * is completed with an error
+     */
+    private volatile T failed = null;
+
+    /**
+     * Initialize the scheduler
+     *
+     * @param worker the executor that will run the
+     *               scheduler listeners, null to run
+     *               them on the completing thread
+     * @param source the scheduler future
+     */
+    FutureScheduler(final Executor worker, final CompletableFuture<T> source) {
+        this.executor = worker;
+        this.future = source;
+        this.future.whenComplete((target, error) -> {
+            if (error instanceof CancellationException)
+                runCancelled();
+        });
+    }
+
+    /**
+     * Get if the scheduler is completed
+     *
+     * @return if the scheduler is complete
+     */
+    public boolean isCompleted() {
+        return this.future.isDone() && !this.future.isCancelled();
+    }
+
+    /**
+     * Set the cancelled action
+     *
+     * @param action the action to perform
+     *               when the timer is cancelled
+     * @return a cancellable instance of this
+     */
+    @Override
+    public CancellableScheduler whenCancelled(final Runnable action) {
+        this.onCancel.add(action);
+        runCancelled();
+        return this;
+    }
+
+    /**
+     * Get if the scheduler is cancelled
+     *
+     * @return if the scheduler is cancelled
+     */
+    @Override
+    public boolean isCancelled() {
+        return this.future.isCancelled();
+    }
+
+    /**
+     * Cancel the scheduler
+     */
+    @Override
+    public void setCancelled() {
+        this.future.cancel(false);
+    }
+
+    /**
+     * Get the scheduler value
+     *
+     * @return the completion value, or the value
+     * kept when completed with an error
+     */
+    final T value() {
+        if (this.future.isDone() && !this.future.isCompletedExceptionally())
+            return this.future.join();
+
+        return this.failed;
+    }
+
+    /**
+     * Complete the scheduler
+     *
+     * @param target the scheduler value
+     * @param error any error that has been thrown
+     */
+    final void completeValue(final T target, final Throwable error) {
+        if (error == null) {
+            this.future.complete(target);
+            return;
+        }
+
+        if (!this.future.isDone()) {
+            this.failed = target;
+            this.future.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * Add a listener to the scheduler completion, which
+     * will be ignored if the scheduler gets cancelled
+     *
+     * @param action the action to perform
+     */
+    final void listen(final BiConsumer<T, Throwable> action) {
+        BiConsumer<T, Throwable> listener = (target, error) -> {
+            if (error instanceof CancellationException)
+                return;
+
+            try {
+                if (error == null) {
+                    action.accept(target, null);
+                } else {
+                    action.accept(this.failed, LateExecutors.unwrap(error));
+                }
+            } catch (Throwable ex) {
+                ex.printStackTrace();
+            }
+        };
+
+        if (this.executor == null) {
+            this.future.whenComplete(listener);
+        } else {
+            this.future.whenCompleteAsync(listener, this.executor);
+        }
+    }
+
+    /**
+     * Run the pending cancel actions, if the
+     * scheduler has been cancelled
+     */
+    private void runCancelled() {
+        if (!this.future.isCancelled())
+            return;
+
+        Runnable action;
+        while ((action = this.onCancel.poll()) != null) {
+            try {
+                action.run();
+            } catch (Throwable ex) {
+                ex.printStackTrace();
+            }
+        }
+    }
+}
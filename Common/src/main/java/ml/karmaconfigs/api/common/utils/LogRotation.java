@@ -0,0 +1,146 @@
+package ml.karmaconfigs.api.common.utils;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Karma logger rotation policy
+ */
+public final class LogRotation {
+
+    /**
+     * The maximum log file size in bytes, 0 means
+     * the file is only rolled by date
+     */
+    private long maxSize = 0L;
+
+    /**
+     * The maximum log files age in milliseconds, 0
+     * means log files never expire
+     */
+    private long maxAge = 0L;
+
+    /**
+     * The maximum amount of log files to keep, 0
+     * means unlimited
+     */
+    private int maxFiles = 0;
+
+    /**
+     * If rolled log files should be compressed
+     */
+    private boolean compress = true;
+
+    /**
+     * Set the maximum log file size, when reached,
+     * the file is rolled and a new one is started
+     *
+     * @param bytes the maximum file size in bytes
+     * @return this instance
+     */
+    public LogRotation withMaxSize(final long bytes) {
+        maxSize = Math.max(0L, bytes);
+
+        return this;
+    }
+
+    /**
+     * Set the maximum log files age, older log
+     * files are removed
+     *
+     * @param time the maximum age
+     * @param unit the age time unit
+     * @return this instance
+     */
+    public LogRotation withMaxAge(final long time, final TimeUnit unit) {
+        maxAge = Math.max(0L, unit.toMillis(time));
+
+        return this;
+    }
+
+    /**
+     * Set the maximum amount of log files to keep besides
+     * the ones being written, the oldest log files are
+     * removed first
+     *
+     * @param amount the maximum amount of log files
+     * @return this instance
+     */
+    public LogRotation withMaxFiles(final int amount) {
+        maxFiles = Math.max(0, amount);
+
+        return this;
+    }
+
+    /**
+     * Set if rolled log files should be gzip compressed
+     *
+     * @param status if rolled files should be compressed
+     * @return this instance
+     */
+    public LogRotation withCompression(final boolean status) {
+        compress = status;
+
+        return this;
+    }
+
+    /**
+     * Get the maximum log file size
+     *
+     * @return the maximum log file size in bytes
+     */
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Get the maximum log files age
+     *
+     * @return the maximum log files age in milliseconds
+     */
+    public long getMaxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Get the maximum amount of log files
+     *
+     * @return the maximum amount of log files
+     */
+    public int getMaxFiles() {
+        return maxFiles;
+    }
+
+    /**
+     * Get if rolled log files are compressed
+     *
+     * @return if rolled log files are compressed
+     */
+    public boolean isCompressed() {
+        return compress;
+    }
+}
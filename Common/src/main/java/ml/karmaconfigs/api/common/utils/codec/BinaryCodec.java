@@ -0,0 +1,815 @@
+package ml.karmaconfigs.api.common.utils.codec;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.io.NotSerializableException;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Karma compact binary codec. Values are written with a one
+ * byte tag, numbers as variable length integers, and object
+ * fields are described once per type in a schema, so repeated
+ * objects only contain their values
+ */
+public final class BinaryCodec implements ObjectCodec {
+
+    /**
+     * The codec ID
+     */
+    public final static byte ID = 'K';
+
+    /**
+     * The maximum object depth, deeper or cyclic graphs
+     * are not supported
+     */
+    private final static int MAX_DEPTH = 64;
+
+    private final static int NULL = 0;
+    private final static int TRUE = 1;
+    private final static int FALSE = 2;
+    private final static int BYTE = 3;
+    private final static int SHORT = 4;
+    private final static int INT = 5;
+    private final static int LONG = 6;
+    private final static int FLOAT = 7;
+    private final static int DOUBLE = 8;
+    private final static int CHAR = 9;
+    private final static int STRING = 10;
+    private final static int BYTES = 11;
+    private final static int UUID_TAG = 12;
+    private final static int INSTANT = 13;
+    private final static int ENUM = 14;
+    private final static int LIST = 15;
+    private final static int SET = 16;
+    private final static int MAP = 17;
+    private final static int ARRAY = 18;
+    private final static int OBJECT = 19;
+    private final static int HASH_SET = 20;
+    private final static int HASH_MAP = 21;
+
+    /**
+     * The methods that customize java serialization, types
+     * declaring any of them are written with java serialization
+     */
+    private final static String[] SERIAL_METHODS = {"writeObject", "readObject", "readObjectNoData", "writeReplace", "readResolve"};
+
+    /**
+     * The primitive type names
+     */
+    private final static Map<String, Class<?>> primitives = new HashMap<>();
+
+    static {
+        for (Class<?> primitive : new Class<?>[]{boolean.class, byte.class, short.class, int.class, long.class, float.class, double.class, char.class})
+            primitives.put(primitive.getName(), primitive);
+    }
+
+    /**
+     * The object type schemas cache
+     */
+    private final static Map<Class<?>, Schema> schemas = new ConcurrentHashMap<>();
+
+    /**
+     * Get the codec ID
+     *
+     * @return the codec ID
+     */
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    /**
+     * Encode an object
+     *
+     * @param instance the object to encode
+     * @return the encoded object
+     * @throws IOException if something goes wrong
+     */
+    @Override
+    public byte[] encode(final Object instance) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        new Writer(out).write(instance, 0);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode an object
+     *
+     * @param data the encoded data
+     * @param offset the encoded object offset
+     * @param length the encoded object length
+     * @param loader the class loader used to resolve types
+     * @param allowed the allowed type names filter
+     * @return the decoded object
+     * @throws IOException if something goes wrong
+     * @throws ClassNotFoundException if a type could not be found
+     */
+    @Override
+    public Object decode(final byte[] data, final int offset, final int length, final ClassLoader loader, final Predicate<String> allowed) throws IOException, ClassNotFoundException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, offset, length));
+        return new Reader(in, loader, allowed).read(0);
+    }
+
+    /**
+     * Get the schema of an object type
+     *
+     * @param type the object type
+     * @return the object type schema
+     * @throws NotSerializableException if the type cannot be encoded
+     */
+    private static Schema schema(final Class<?> type) throws NotSerializableException {
+        Schema schema = schemas.get(type);
+        if (schema == null) {
+            schema = new Schema(type);
+            schemas.put(type, schema);
+        }
+        return schema;
+    }
+
+    /**
+     * Get if a type customizes its java serialization
+     *
+     * @param type the type
+     * @return if the type declares a serialization method
+     */
+    private static boolean isCustomized(final Class<?> type) {
+        for (Method method : type.getDeclaredMethods()) {
+            if (Modifier.isStatic(method.getModifiers()))
+                continue;
+
+            for (String name : SERIAL_METHODS) {
+                if (name.equals(method.getName()))
+                    return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Karma binary codec object type schema
+     */
+    private final static class Schema {
+
+        /**
+         * The type constructor
+         */
+        private final Constructor<?> constructor;
+
+        /**
+         * The type fields
+         */
+        private final Field[] fields;
+
+        /**
+         * The type field names
+         */
+        private final String[] names;
+
+        /**
+         * The type field name => field
+         */
+        private final Map<String, Field> byName = new HashMap<>();
+
+        /**
+         * Initialize the schema
+         *
+         * @param type the object type
+         * @throws NotSerializableException if the type cannot be encoded
+         */
+        Schema(final Class<?> type) throws NotSerializableException {
+            if (!Serializable.class.isAssignableFrom(type) || Externalizable.class.isAssignableFrom(type) || type.isAnonymousClass() || type.isSynthetic())
+                throw new NotSerializableException(type.getName());
+
+            try {
+                this.constructor = type.getDeclaredConstructor();
+                this.constructor.setAccessible(true);
+
+                List<Field> list = new ArrayList<>();
+                List<Class<?>> hierarchy = new ArrayList<>();
+                for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                    if (Codecs.isPlatform(current.getName()) || isCustomized(current))
+                        throw new NotSerializableException(type.getName());
+                    hierarchy.add(0, current);
+                }
+                for (Class<?> current : hierarchy) {
+                    for (Field field : current.getDeclaredFields()) {
+                        int modifiers = field.getModifiers();
+                        if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic())
+                            continue;
+
+                        field.setAccessible(true);
+                        list.add(field);
+                    }
+                }
+
+                this.fields = list.toArray(new Field[0]);
+                this.names = new String[this.fields.length];
+                for (int i = 0; i < this.fields.length; i++) {
+                    Field field = this.fields[i];
+                    String name = field.getName();
+                    if (this.byName.containsKey(name))
+                        name = field.getDeclaringClass().getName() + "." + name;
+
+                    this.names[i] = name;
+                    this.byName.put(name, field);
+                }
+            } catch (NoSuchMethodException | RuntimeException ex) {
+                throw new NotSerializableException(type.getName());
+            }
+        }
+    }
+
+    /**
+     * Karma binary codec writer
+     */
+    private final static class Writer {
+
+        /**
+         * The output
+         */
+        private final DataOutputStream out;
+
+        /**
+         * The written types => type index
+         */
+        private final Map<Class<?>, Integer> types = new HashMap<>();
+
+        /**
+         * The written schemas => schema index
+         */
+        private final Map<Class<?>, Integer> objects = new HashMap<>();
+
+        /**
+         * The objects being written, used to detect cycles
+         */
+        private final Map<Object, Boolean> writing = new IdentityHashMap<>();
+
+        /**
+         * Initialize the writer
+         *
+         * @param output the output
+         */
+        Writer(final DataOutputStream output) {
+            this.out = output;
+        }
+
+        /**
+         * Write a value
+         *
+         * @param value the value
+         * @param depth the value depth
+         * @throws IOException if something goes wrong
+         */
+        void write(final Object value, final int depth) throws IOException {
+            if (depth > MAX_DEPTH)
+                throw new NotSerializableException("Object graph is too deep");
+            if (value == null) {
+                this.out.writeByte(NULL);
+                return;
+            }
+
+            Class<?> type = value.getClass();
+            if (type == String.class) {
+                this.out.writeByte(STRING);
+                writeString((String) value);
+            } else if (type == Integer.class) {
+                this.out.writeByte(INT);
+                writeVarLong(zigzag((Integer) value));
+            } else if (type == Long.class) {
+                this.out.writeByte(LONG);
+                writeVarLong(zigzag((Long) value));
+            } else if (type == Boolean.class) {
+                this.out.writeByte((Boolean) value ? TRUE : FALSE);
+            } else if (type == Double.class) {
+                this.out.writeByte(DOUBLE);
+                this.out.writeDouble((Double) value);
+            } else if (type == Float.class) {
+                this.out.writeByte(FLOAT);
+                this.out.writeFloat((Float) value);
+            } else if (type == Byte.class) {
+                this.out.writeByte(BYTE);
+                this.out.writeByte((Byte) value);
+            } else if (type == Short.class) {
+                this.out.writeByte(SHORT);
+                writeVarLong(zigzag((Short) value));
+            } else if (type == Character.class) {
+                this.out.writeByte(CHAR);
+                this.out.writeChar((Character) value);
+            } else if (type == byte[].class) {
+                byte[] bytes = (byte[]) value;
+                this.out.writeByte(BYTES);
+                writeVarLong(bytes.length);
+                this.out.write(bytes);
+            } else if (type == UUID.class) {
+                UUID id = (UUID) value;
+                this.out.writeByte(UUID_TAG);
+                this.out.writeLong(id.getMostSignificantBits());
+                this.out.writeLong(id.getLeastSignificantBits());
+            } else if (type == Instant.class) {
+                Instant instant = (Instant) value;
+                this.out.writeByte(INSTANT);
+                writeVarLong(zigzag(instant.getEpochSecond()));
+                writeVarLong(instant.getNano());
+            } else if (value instanceof Enum) {
+                this.out.writeByte(ENUM);
+                writeType(((Enum<?>) value).getDeclaringClass());
+                writeString(((Enum<?>) value).name());
+            } else {
+                if (this.writing.put(value, Boolean.TRUE) != null)
+                    throw new NotSerializableException("Object graph contains cycles");
+
+                if (type == ArrayList.class || type == LinkedHashSet.class || type == HashSet.class) {
+                    Collection<?> collection = (Collection<?>) value;
+                    this.out.writeByte(type == ArrayList.class ? LIST : (type == LinkedHashSet.class ? SET : HASH_SET));
+                    writeVarLong(collection.size());
+                    for (Object element : collection)
+                        write(element, depth + 1);
+                } else if (type == LinkedHashMap.class || type == HashMap.class) {
+                    Map<?, ?> map = (Map<?, ?>) value;
+                    this.out.writeByte(type == LinkedHashMap.class ? MAP : HASH_MAP);
+                    writeVarLong(map.size());
+                    for (Map.Entry<?, ?> entry : map.entrySet()) {
+                        write(entry.getKey(), depth + 1);
+                        write(entry.getValue(), depth + 1);
+                    }
+                } else if (type.isArray()) {
+                    int length = Array.getLength(value);
+                    this.out.writeByte(ARRAY);
+                    writeType(type.getComponentType());
+                    writeVarLong(length);
+                    for (int i = 0; i < length; i++)
+                        write(Array.get(value, i), depth + 1);
+                } else {
+                    if (value instanceof Collection || value instanceof Map || Codecs.isPlatform(type.getName()) || !Codecs.isAllowed(type.getName()))
+                        throw new NotSerializableException(type.getName());
+
+                    Schema schema = schema(type);
+                    this.out.writeByte(OBJECT);
+                    writeSchema(type, schema);
+                    try {
+                        for (Field field : schema.fields)
+                            write(field.get(value), depth + 1);
+                    } catch (IllegalAccessException ex) {
+                        throw new NotSerializableException(type.getName());
+                    }
+                }
+
+                this.writing.remove(value);
+            }
+        }
+
+        /**
+         * Write a type reference, the type name is only
+         * written the first time
+         *
+         * @param type the type
+         * @throws IOException if something goes wrong
+         */
+        private void writeType(final Class<?> type) throws IOException {
+            Integer index = this.types.get(type);
+            if (index != null) {
+                writeVarLong(index + 1);
+                return;
+            }
+
+            writeVarLong(0);
+            writeString(type.getName());
+            this.types.put(type, this.types.size());
+        }
+
+        /**
+         * Write an object schema reference, the type name
+         * and field names are only written the first time
+         *
+         * @param type the object type
+         * @param schema the object schema
+         * @throws IOException if something goes wrong
+         */
+        private void writeSchema(final Class<?> type, final Schema schema) throws IOException {
+            Integer index = this.objects.get(type);
+            if (index != null) {
+                writeVarLong(index + 1);
+                return;
+            }
+
+            writeVarLong(0);
+            writeString(type.getName());
+            writeVarLong(schema.names.length);
+            for (String name : schema.names)
+                writeString(name);
+            this.objects.put(type, this.objects.size());
+        }
+
+        /**
+         * Write an UTF-8 string
+         *
+         * @param value the string
+         * @throws IOException if something goes wrong
+         */
+        private void writeString(final String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            this.out.write(bytes);
+        }
+
+        /**
+         * Write a variable length unsigned number
+         *
+         * @param value the number
+         * @throws IOException if something goes wrong
+         */
+        private void writeVarLong(final long value) throws IOException {
+            long remaining = value;
+            while ((remaining & ~0x7FL) != 0L) {
+                this.out.writeByte((int) ((remaining & 0x7F) | 0x80));
+                remaining >>>= 7;
+            }
+            this.out.writeByte((int) remaining);
+        }
+
+        /**
+         * Zigzag encode a signed number
+         *
+         * @param value the number
+         * @return the zigzag encoded number
+         */
+        private static long zigzag(final long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+
+    /**
+     * Karma binary codec reader
+     */
+    private final static class Reader {
+
+        /**
+         * The input, read from memory so its available
+         * bytes are the remaining data
+         */
+        private final DataInputStream in;
+
+        /**
+         * The class loader used to resolve types
+         */
+        private final ClassLoader loader;
+
+        /**
+         * The allowed type names filter
+         */
+        private final Predicate<String> allowed;
+
+        /**
+         * The read types
+         */
+        private final List<Class<?>> types = new ArrayList<>();
+
+        /**
+         * The read schemas
+         */
+        private final List<ReadSchema> objects = new ArrayList<>();
+
+        /**
+         * Initialize the reader
+         *
+         * @param input the input
+         * @param classLoader the class loader
+         * @param filter the allowed type names filter
+         */
+        Reader(final DataInputStream input, final ClassLoader classLoader, final Predicate<String> filter) {
+            this.in = input;
+            this.loader = classLoader;
+            this.allowed = filter;
+        }
+
+        /**
+         * Read a value
+         *
+         * @param depth the value depth
+         * @return the value
+         * @throws IOException if something goes wrong
+         * @throws ClassNotFoundException if a type could not be found
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Object read(final int depth) throws IOException, ClassNotFoundException {
+            if (depth > MAX_DEPTH)
+                throw new InvalidObjectException("Object graph is too deep");
+
+            int tag = this.in.readUnsignedByte();
+            switch (tag) {
+                case NULL:
+                    return null;
+                case TRUE:
+                    return Boolean.TRUE;
+                case FALSE:
+                    return Boolean.FALSE;
+                case BYTE:
+                    return this.in.readByte();
+                case SHORT:
+                    return (short) unzigzag(readVarLong());
+                case INT:
+                    return (int) unzigzag(readVarLong());
+                case LONG:
+                    return unzigzag(readVarLong());
+                case FLOAT:
+                    return this.in.readFloat();
+                case DOUBLE:
+                    return this.in.readDouble();
+                case CHAR:
+                    return this.in.readChar();
+                case STRING:
+                    return readString();
+                case BYTES:
+                    byte[] bytes = new byte[readLength()];
+                    this.in.readFully(bytes);
+                    return bytes;
+                case UUID_TAG:
+                    return new UUID(this.in.readLong(), this.in.readLong());
+                case INSTANT:
+                    return Instant.ofEpochSecond(unzigzag(readVarLong()), readVarLong());
+                case ENUM:
+                    Class<?> enumType = readType();
+                    if (!enumType.isEnum())
+                        throw new InvalidClassException(enumType.getName(), "Type is not an enum");
+                    return Enum.valueOf((Class) enumType, readString());
+                case LIST:
+                case SET:
+                case HASH_SET:
+                    int size = readLength();
+                    Collection<Object> collection = (tag == LIST ? new ArrayList<>(Math.min(size, 1024)) : (tag == SET ? new LinkedHashSet<>() : new HashSet<>()));
+                    for (int i = 0; i < size; i++)
+                        collection.add(read(depth + 1));
+                    return collection;
+                case MAP:
+                case HASH_MAP:
+                    int entries = readLength();
+                    Map<Object, Object> map = (tag == MAP ? new LinkedHashMap<>() : new HashMap<>());
+                    for (int i = 0; i < entries; i++)
+                        map.put(read(depth + 1), read(depth + 1));
+                    return map;
+                case ARRAY:
+                    Class<?> component = readType();
+                    int length = readLength();
+                    Object array = Array.newInstance(component, length);
+                    for (int i = 0; i < length; i++)
+                        Array.set(array, i, read(depth + 1));
+                    return array;
+                case OBJECT:
+                    ReadSchema schema = readSchema();
+                    Object instance;
+                    try {
+                        instance = schema.schema.constructor.newInstance();
+                    } catch (ReflectiveOperationException ex) {
+                        throw new InvalidObjectException("Could not create " + schema.schema.constructor.getDeclaringClass().getName());
+                    }
+
+                    for (Field field : schema.fields) {
+                        Object value = read(depth + 1);
+                        if (field != null)
+                            assign(field, instance, value);
+                    }
+                    return instance;
+                default:
+                    throw new InvalidObjectException("Unknown value tag " + tag);
+            }
+        }
+
+        /**
+         * Assign a decoded value to an object field
+         *
+         * @param field the field
+         * @param instance the object
+         * @param value the value
+         * @throws InvalidObjectException if the value cannot be assigned
+         */
+        private void assign(final Field field, final Object instance, final Object value) throws InvalidObjectException {
+            if (value == null && field.getType().isPrimitive())
+                return;
+
+            try {
+                field.set(instance, value);
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                throw new InvalidObjectException("Could not assign " + field.getDeclaringClass().getName() + "." + field.getName());
+            }
+        }
+
+        /**
+         * Read a type reference
+         *
+         * @return the type
+         * @throws IOException if something goes wrong
+         * @throws ClassNotFoundException if the type could not be found
+         */
+        private Class<?> readType() throws IOException, ClassNotFoundException {
+            int index = readIndex();
+            if (index > 0) {
+                if (index > this.types.size())
+                    throw new InvalidObjectException("Unknown type reference " + index);
+                return this.types.get(index - 1);
+            }
+
+            Class<?> type = resolve(readString());
+            this.types.add(type);
+            return type;
+        }
+
+        /**
+         * Read an object schema reference
+         *
+         * @return the object schema
+         * @throws IOException if something goes wrong
+         * @throws ClassNotFoundException if the type could not be found
+         */
+        private ReadSchema readSchema() throws IOException, ClassNotFoundException {
+            int index = readIndex();
+            if (index > 0) {
+                if (index > this.objects.size())
+                    throw new InvalidObjectException("Unknown schema reference " + index);
+                return this.objects.get(index - 1);
+            }
+
+            String name = readString();
+            Class<?> type = resolve(name);
+            Schema schema;
+            try {
+                schema = schema(type);
+            } catch (NotSerializableException ex) {
+                throw new InvalidClassException(name, "Type cannot be decoded");
+            }
+
+            Field[] fields = new Field[readLength()];
+            for (int i = 0; i < fields.length; i++)
+                fields[i] = schema.byName.get(readString());
+
+            ReadSchema read = new ReadSchema(schema, fields);
+            this.objects.add(read);
+            return read;
+        }
+
+        /**
+         * Resolve an allowed type
+         *
+         * @param name the type name
+         * @return the type
+         * @throws InvalidClassException if the type is not allowed
+         * @throws ClassNotFoundException if the type could not be found
+         */
+        private Class<?> resolve(final String name) throws InvalidClassException, ClassNotFoundException {
+            Class<?> primitive = primitives.get(name);
+            if (primitive != null)
+                return primitive;
+            if (!this.allowed.test(Codecs.componentName(name)))
+                throw new InvalidClassException(name, "Type is not allowed");
+
+            return Class.forName(name, false, this.loader);
+        }
+
+        /**
+         * Read an UTF-8 string
+         *
+         * @return the string
+         * @throws IOException if something goes wrong
+         */
+        private String readString() throws IOException {
+            byte[] bytes = new byte[readLength()];
+            this.in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Read a length. Every byte or element takes at least
+         * one byte, so lengths larger than the remaining data
+         * are rejected before anything is allocated
+         *
+         * @return the length
+         * @throws IOException if something goes wrong
+         */
+        private int readLength() throws IOException {
+            long value = readVarLong();
+            if (value < 0 || value > this.in.available())
+                throw new InvalidObjectException("Invalid length " + value);
+            return (int) value;
+        }
+
+        /**
+         * Read a type or schema reference index
+         *
+         * @return the index
+         * @throws IOException if something goes wrong
+         */
+        private int readIndex() throws IOException {
+            long value = readVarLong();
+            if (value < 0 || value > Integer.MAX_VALUE)
+                throw new InvalidObjectException("Invalid reference " + value);
+            return (int) value;
+        }
+
+        /**
+         * Read a variable length unsigned number
+         *
+         * @return the number
+         * @throws IOException if something goes wrong
+         */
+        private long readVarLong() throws IOException {
+            long value = 0L;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int read = this.in.readUnsignedByte();
+                value |= (long) (read & 0x7F) << shift;
+                if ((read & 0x80) == 0)
+                    return value;
+            }
+            throw new InvalidObjectException("Malformed variable length number");
+        }
+
+        /**
+         * Zigzag decode a signed number
+         *
+         * @param value the zigzag encoded number
+         * @return the number
+         */
+        private static long unzigzag(final long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+
+    /**
+     * Karma binary codec schema read from the data
+     */
+    private final static class ReadSchema {
+
+        /**
+         * The local type schema
+         */
+        private final Schema schema;
+
+        /**
+         * The data field order, null for fields the
+         * local type does not have
+         */
+        private final Field[] fields;
+
+        /**
+         * Initialize the read schema
+         *
+         * @param local the local type schema
+         * @param order the data field order
+         */
+        ReadSchema(final Schema local, final Field[] order) {
+            this.schema = local;
+            this.fields = order;
+        }
+    }
+}
@@ -0,0 +1,430 @@
+package ml.karmaconfigs.api.common.utils.codec;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.io.NotSerializableException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Karma object codecs. Objects are encoded with the preferred
+ * codec and decoded with the codec that wrote them, only types
+ * in the allow-list can be decoded
+ */
+public final class Codecs {
+
+    /**
+     * The flag set when the encoded data is compressed
+     */
+    private final static int COMPRESSED = 1;
+
+    /**
+     * The maximum decompressed size
+     */
+    private final static int MAX_INFLATED = 64 * 1024 * 1024;
+
+    /**
+     * The registered codecs
+     */
+    private final static Map<Byte, ObjectCodec> codecs = new ConcurrentHashMap<>();
+
+    /**
+     * The allowed type names, by default the primitive,
+     * boxed, string and collection types the binary
+     * codec writes
+     */
+    private final static Set<String> types = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The allowed package names
+     */
+    private final static Set<String> packages = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The java serialization codec
+     */
+    private final static ObjectCodec java = new JavaCodec();
+
+    /**
+     * The codec used to encode objects
+     */
+    private static volatile ObjectCodec preferred = new BinaryCodec();
+
+    /**
+     * The minimum encoded size to compress the data, -1
+     * to never compress
+     */
+    private static volatile int compressionThreshold = 512;
+
+    static {
+        register(java);
+        register(preferred);
+
+        for (String primitive : new String[]{"boolean", "byte", "short", "int", "long", "float", "double", "char"})
+            types.add(primitive);
+        for (Class<?> type : new Class<?>[]{Object.class, Number.class, Enum.class, String.class,
+                Boolean.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class, Character.class,
+                UUID.class, Instant.class, ArrayList.class, LinkedHashSet.class, HashSet.class, LinkedHashMap.class, HashMap.class})
+            types.add(type.getName());
+        // Instant is written through java.time.Ser by java serialization
+        types.add("java.time.Ser");
+    }
+
+    /**
+     * Register a codec
+     *
+     * @param codec the codec to register
+     * @throws IllegalArgumentException if the codec ID is
+     * already used by another codec
+     */
+    public static void register(final ObjectCodec codec) throws IllegalArgumentException {
+        ObjectCodec current = codecs.putIfAbsent(codec.id(), codec);
+        if (current != null && current != codec)
+            throw new IllegalArgumentException("Codec ID " + codec.id() + " is already used by " + current.getClass().getName());
+    }
+
+    /**
+     * Set the codec used to encode objects, the codec
+     * gets registered if it is not
+     *
+     * @param codec the preferred codec
+     */
+    public static void setPreferred(final ObjectCodec codec) {
+        register(codec);
+        preferred = codec;
+    }
+
+    /**
+     * Set the minimum encoded size to compress
+     * the data
+     *
+     * @param threshold the compression threshold, -1 to
+     *                  never compress
+     */
+    public static void setCompressionThreshold(final int threshold) {
+        compressionThreshold = threshold;
+    }
+
+    /**
+     * Allow the specified types to be decoded
+     *
+     * @param classes the types to allow
+     */
+    public static void allow(final Class<?>... classes) {
+        for (Class<?> type : classes)
+            types.add(type.getName());
+        // Instant is written through java.time.Ser by java serialization
+        types.add("java.time.Ser");
+    }
+
+    /**
+     * Allow all the types of a package to be decoded,
+     * sub packages are not included
+     *
+     * @param name the package name
+     */
+    public static void allowPackage(final String name) {
+        packages.add(name);
+    }
+
+    /**
+     * Get if the specified type can be decoded
+     *
+     * @param name the type name
+     * @return if the type is allowed
+     */
+    public static boolean isAllowed(final String name) {
+        if (types.contains(name))
+            return true;
+
+        int index = name.lastIndexOf('.');
+        return index > 0 && packages.contains(name.substring(0, index));
+    }
+
+    /**
+     * Get if the specified type belongs to the java platform
+     *
+     * @param name the type name
+     * @return if the type is a platform type
+     */
+    static boolean isPlatform(final String name) {
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("sun.") || name.startsWith("jdk.");
+    }
+
+    /**
+     * Get the component type name of an array type
+     * name, or the name itself if it is not an array
+     *
+     * @param name the type name
+     * @return the component type name
+     */
+    public static String componentName(final String name) {
+        if (name.isEmpty() || name.charAt(0) != '[')
+            return name;
+
+        int index = 0;
+        while (index < name.length() && name.charAt(index) == '[')
+            index++;
+        if (index >= name.length())
+            return name;
+
+        switch (name.charAt(index)) {
+            case 'Z':
+                return "boolean";
+            case 'B':
+                return "byte";
+            case 'S':
+                return "short";
+            case 'I':
+                return "int";
+            case 'J':
+                return "long";
+            case 'F':
+                return "float";
+            case 'D':
+                return "double";
+            case 'C':
+                return "char";
+            case 'L':
+                return name.endsWith(";") ? name.substring(index + 1, name.length() - 1) : name;
+            default:
+                return name;
+        }
+    }
+
+    /**
+     * Encode an object into a base64 string
+     *
+     * @param instance the object to encode
+     * @return the encoded object
+     * @throws IOException if the object could not be encoded
+     */
+    public static String serialize(final Object instance) throws IOException {
+        return Base64.getEncoder().encodeToString(encode(instance));
+    }
+
+    /**
+     * Decode a base64 string
+     *
+     * @param data the encoded object
+     * @return the decoded object
+     * @throws IOException if the object could not be decoded
+     * @throws ClassNotFoundException if a type could not be found
+     */
+    public static Object deserialize(final String data) throws IOException, ClassNotFoundException {
+        return decode(Base64.getDecoder().decode(data), loader(null), Codecs::isAllowed);
+    }
+
+    /**
+     * Decode a base64 string, the requested type and
+     * the types of its package are allowed. Only the type
+     * itself is allowed for java platform types
+     *
+     * @param data the encoded object
+     * @param type the object type
+     * @param <T> the object type
+     * @return the decoded object
+     * @throws IOException if the object could not be decoded
+     * @throws ClassNotFoundException if a type could not be found
+     */
+    public static <T> T deserialize(final String data, final Class<T> type) throws IOException, ClassNotFoundException {
+        String name = type.getName();
+        int index = name.lastIndexOf('.');
+        String owner = (index > 0 && !isPlatform(name) ? name.substring(0, index + 1) : "");
+
+        Object instance = decode(Base64.getDecoder().decode(data), loader(type), current ->
+                isAllowed(current) || current.equals(name) || (!owner.isEmpty() && current.startsWith(owner) && current.indexOf('.', owner.length()) == -1));
+        if (instance != null && !type.isInstance(instance))
+            throw new InvalidClassException(instance.getClass().getName(), "Decoded object is not a " + name);
+
+        return type.cast(instance);
+    }
+
+    /**
+     * Encode an object, objects the preferred codec cannot
+     * encode are written with java serialization
+     *
+     * @param instance the object to encode
+     * @return the encoded object
+     * @throws IOException if the object could not be encoded
+     */
+    public static byte[] encode(final Object instance) throws IOException {
+        ObjectCodec codec = preferred;
+        if (codec.id() != JavaCodec.ID) {
+            try {
+                return wrap(codec.id(), codec.encode(instance));
+            } catch (NotSerializableException ignored) {}
+        }
+
+        return java.encode(instance);
+    }
+
+    /**
+     * Decode an object
+     *
+     * @param data the encoded object
+     * @param loader the class loader used to resolve types
+     * @param allowed the allowed type names filter
+     * @return the decoded object
+     * @throws IOException if the object could not be decoded
+     * @throws ClassNotFoundException if a type could not be found
+     */
+    public static Object decode(final byte[] data, final ClassLoader loader, final Predicate<String> allowed) throws IOException, ClassNotFoundException {
+        if (data.length == 0)
+            throw new InvalidObjectException("No data to decode");
+
+        if (data[0] == JavaCodec.ID)
+            return java.decode(data, 0, data.length, loader, allowed);
+
+        ObjectCodec codec = codecs.get(data[0]);
+        if (codec == null)
+            throw new InvalidObjectException("Unknown codec " + data[0]);
+        if (data.length < 2)
+            throw new InvalidObjectException("Truncated data");
+
+        if ((data[1] & COMPRESSED) != 0) {
+            byte[] inflated = inflate(data, 2, data.length - 2);
+            return codec.decode(inflated, 0, inflated.length, loader, allowed);
+        }
+
+        return codec.decode(data, 2, data.length - 2, loader, allowed);
+    }
+
+    /**
+     * Write the codec header and compress the
+     * data if it is large enough
+     *
+     * @param id the codec ID
+     * @param data the encoded data
+     * @return the wrapped data
+     */
+    private static byte[] wrap(final byte id, final byte[] data) {
+        int threshold = compressionThreshold;
+        if (threshold >= 0 && data.length >= threshold) {
+            byte[] deflated = deflate(data);
+            if (deflated.length < data.length) {
+                byte[] result = new byte[deflated.length + 2];
+                result[0] = id;
+                result[1] = COMPRESSED;
+                System.arraycopy(deflated, 0, result, 2, deflated.length);
+                return result;
+            }
+        }
+
+        byte[] result = new byte[data.length + 2];
+        result[0] = id;
+        System.arraycopy(data, 0, result, 2, data.length);
+        return result;
+    }
+
+    /**
+     * Compress data
+     *
+     * @param data the data to compress
+     * @return the compressed data
+     */
+    private static byte[] deflate(final byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 16);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                int read = deflater.deflate(buffer);
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Decompress data
+     *
+     * @param data the compressed data
+     * @param offset the compressed data offset
+     * @param length the compressed data length
+     * @return the decompressed data
+     * @throws IOException if the data is not valid
+     */
+    private static byte[] inflate(final byte[] data, final int offset, final int length) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, offset, length);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(length * 3);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                    throw new InvalidObjectException("Truncated compressed data");
+
+                out.write(buffer, 0, read);
+                if (out.size() > MAX_INFLATED)
+                    throw new InvalidObjectException("Decompressed data is too large");
+            }
+            return out.toByteArray();
+        } catch (DataFormatException ex) {
+            throw new InvalidObjectException("Invalid compressed data");
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Get the class loader used to decode objects
+     *
+     * @param type the requested type
+     * @return the class loader
+     */
+    private static ClassLoader loader(final Class<?> type) {
+        if (type != null && type.getClassLoader() != null)
+            return type.getClassLoader();
+
+        ClassLoader context = Thread.currentThread().getContextClassLoader();
+        return (context != null ? context : Codecs.class.getClassLoader());
+    }
+}
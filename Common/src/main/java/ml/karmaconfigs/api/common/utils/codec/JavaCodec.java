@@ -0,0 +1,111 @@
+package ml.karmaconfigs.api.common.utils.codec;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.util.function.Predicate;
+
+/**
+ * Karma java serialization codec. Writes standard java
+ * serialization streams, and only reads the allowed types
+ */
+public final class JavaCodec implements ObjectCodec {
+
+    /**
+     * The codec ID, the first byte of every java
+     * serialization stream
+     */
+    public final static byte ID = (byte) 0xAC;
+
+    /**
+     * Get the codec ID
+     *
+     * @return the codec ID
+     */
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    /**
+     * Encode an object
+     *
+     * @param instance the object to encode
+     * @return the encoded object
+     * @throws IOException if something goes wrong
+     */
+    @Override
+    public byte[] encode(final Object instance) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(instance);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode an object
+     *
+     * @param data the encoded data
+     * @param offset the encoded object offset
+     * @param length the encoded object length
+     * @param loader the class loader used to resolve types
+     * @param allowed the allowed type names filter
+     * @return the decoded object
+     * @throws IOException if something goes wrong
+     * @throws ClassNotFoundException if a type could not be found
+     */
+    @Override
+    public Object decode(final byte[] data, final int offset, final int length, final ClassLoader loader, final Predicate<String> allowed) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data, offset, length)) {
+            @Override
+            protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+                String name = desc.getName();
+                if (!allowed.test(Codecs.componentName(name)))
+                    throw new InvalidClassException(name, "Type is not allowed");
+
+                try {
+                    return Class.forName(name, false, loader);
+                } catch (ClassNotFoundException ex) {
+                    return super.resolveClass(desc);
+                }
+            }
+
+            @Override
+            protected Class<?> resolveProxyClass(final String[] interfaces) throws IOException {
+                throw new InvalidClassException("Proxy classes are not allowed");
+            }
+        }) {
+            return in.readObject();
+        }
+    }
+}
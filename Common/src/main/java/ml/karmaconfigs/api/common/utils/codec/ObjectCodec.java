@@ -0,0 +1,69 @@
+package ml.karmaconfigs.api.common.utils.codec;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import java.io.IOException;
+import java.util.function.Predicate;
+
+/**
+ * Karma object codec, encodes objects into bytes and
+ * decodes them back
+ */
+public interface ObjectCodec {
+
+    /**
+     * Get the codec ID, written as the first byte of
+     * the encoded data
+     *
+     * @return the codec ID
+     */
+    byte id();
+
+    /**
+     * Encode an object
+     *
+     * @param instance the object to encode
+     * @return the encoded object
+     * @throws java.io.NotSerializableException if the codec cannot encode the object
+     * @throws IOException if something goes wrong
+     */
+    byte[] encode(final Object instance) throws IOException;
+
+    /**
+     * Decode an object
+     *
+     * @param data the encoded data
+     * @param offset the encoded object offset
+     * @param length the encoded object length
+     * @param loader the class loader used to resolve types
+     * @param allowed the allowed type names filter
+     * @return the decoded object
+     * @throws java.io.InvalidClassException if the data contains a type that is not allowed
+     * @throws IOException if something goes wrong
+     * @throws ClassNotFoundException if a type could not be found
+     */
+    Object decode(final byte[] data, final int offset, final int length, final ClassLoader loader, final Predicate<String> allowed) throws IOException, ClassNotFoundException;
+}
@@ -36,7 +36,12 @@ public enum LogExtension {
     /**
      * Modern and good-look .md file
      */
-    MARKDOWN;
+    MARKDOWN,
+    /**
+     * JSON lines .jsonl file, one JSON object per
+     * log entry
+     */
+    JSON;
 
     /**
      * Get the log extension as a file extension
@@ -44,8 +49,13 @@ public enum LogExtension {
      * @return the log extension as file extension
      */
     public String fileExtension() {
-        if (this == MARKDOWN)
-            return "md";
-        return "log";
+        switch (this) {
+            case MARKDOWN:
+                return "md";
+            case JSON:
+                return "jsonl";
+            default:
+                return "log";
+        }
     }
 }
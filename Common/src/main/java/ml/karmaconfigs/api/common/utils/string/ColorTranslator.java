@@ -0,0 +1,157 @@
+package ml.karmaconfigs.api.common.utils.string;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+/**
+ * Karma color translator. Translates the color codes of
+ * a text in a single pass using a lookup table
+ */
+final class ColorTranslator {
+
+    /**
+     * The alternative color code character
+     */
+    private final static char AMPERSAND = '&';
+
+    /**
+     * The minecraft color code character
+     */
+    private final static char SECTION = '\u00A7';
+
+    /**
+     * The console reset sequence
+     */
+    private final static String RESET = "\033[0m";
+
+    /**
+     * The code => console sequence table, a
+     * code is valid if its entry is not null
+     */
+    private final static String[] TABLE = new String[256];
+
+    static {
+        String[] colors = {
+                "\033[0;30m", "\033[0;34m", "\033[0;32m", "\033[0;36m",
+                "\033[0;31m", "\033[0;35m", "\033[0;33m", "\033[0;37m",
+                "\033[0;90m", "\033[0;94m", "\033[0;92m", "\033[0;96m",
+                "\033[0;91m", "\033[0;95m", "\033[0;93m", "\033[0;97m"
+        };
+        String codes = "0123456789abcdef";
+        for (int i = 0; i < codes.length(); i++) {
+            char code = codes.charAt(i);
+            TABLE[code] = colors[i];
+            TABLE[Character.toUpperCase(code)] = colors[i];
+        }
+        for (char code : "klmnorx".toCharArray()) {
+            TABLE[code] = RESET;
+            TABLE[Character.toUpperCase(code)] = RESET;
+        }
+    }
+
+    /**
+     * Translate mode, replaces & codes with section codes
+     */
+    final static int COLOR = 0;
+
+    /**
+     * Console mode, replaces & and section codes with
+     * console sequences
+     */
+    final static int CONSOLE = 1;
+
+    /**
+     * Strip mode, removes & and section codes
+     */
+    final static int STRIP = 2;
+
+    /**
+     * Get if the character is a valid color code
+     *
+     * @param code the character
+     * @return if the character is a color code
+     */
+    static boolean isCode(final char code) {
+        return code < 256 && TABLE[code] != null;
+    }
+
+    /**
+     * Translate the text color codes
+     *
+     * @param text the text to translate
+     * @param mode the translate mode
+     * @return the translated text
+     */
+    static String translate(final String text, final int mode) {
+        int length = text.length() - 1;
+        StringBuilder builder = null;
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char character = text.charAt(i);
+            if (character != AMPERSAND && (character != SECTION || mode == COLOR))
+                continue;
+
+            char code = text.charAt(i + 1);
+            if (code >= 256 || TABLE[code] == null)
+                continue;
+
+            if (builder == null)
+                builder = new StringBuilder(text.length() + (mode == CONSOLE ? 64 : 0));
+            builder.append(text, start, i);
+            switch (mode) {
+                case COLOR:
+                    builder.append(SECTION).append(code);
+                    break;
+                case CONSOLE:
+                    builder.append(TABLE[code]);
+                    break;
+                default:
+                    break;
+            }
+            start = i + 2;
+            i++;
+        }
+
+        if (builder == null)
+            return text;
+        return builder.append(text, start, text.length()).toString();
+    }
+
+    /**
+     * Get the last color code of the text
+     *
+     * @param text the text to read
+     * @return the last color code of the text, or
+     * an empty string if it has no colors
+     */
+    static String last(final String text) {
+        for (int i = text.length() - 2; i >= 0; i--) {
+            char character = text.charAt(i);
+            if ((character == AMPERSAND || character == SECTION) && isCode(text.charAt(i + 1)))
+                return text.substring(i, i + 2);
+        }
+        return "";
+    }
+}
@@ -0,0 +1,346 @@
+package ml.karmaconfigs.api.common.utils.string;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Karma message template. Splits a text into literal and
+ * placeholder segments once, so rendering it only appends
+ * the segments
+ */
+public final class MessageTemplate {
+
+    /**
+     * The maximum amount of cached templates
+     */
+    private final static int CACHE_SIZE = 2048;
+
+    /**
+     * The amount of cached templates removed at once
+     * when the cache is full
+     */
+    private final static int EVICT_SIZE = CACHE_SIZE / 8;
+
+    /**
+     * The maximum builder capacity kept for reuse
+     */
+    private final static int BUILDER_SIZE = 8192;
+
+    /**
+     * The unknown replace value
+     */
+    private final static String UNKNOWN = "[unknown]";
+
+    /**
+     * The compiled templates cache, the least recently
+     * used templates are removed when full
+     */
+    private final static Map<String, MessageTemplate> cache = new ConcurrentHashMap<>(256);
+
+    /**
+     * If a thread is removing templates from the cache
+     */
+    private final static AtomicBoolean evicting = new AtomicBoolean(false);
+
+    /**
+     * The cache clock, moved on every cache miss
+     */
+    private final static AtomicLong clock = new AtomicLong();
+
+    /**
+     * The thread render builders
+     */
+    private final static ThreadLocal<StringBuilder> builders = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    /**
+     * The template text
+     */
+    private final String text;
+
+    /**
+     * The literal segments, one more than placeholders
+     */
+    private final String[] literals;
+
+    /**
+     * The placeholder names
+     */
+    private final String[] names;
+
+    /**
+     * The placeholder indexes, -1 for named placeholders
+     */
+    private final int[] indexes;
+
+    /**
+     * The literal segments length
+     */
+    private final int length;
+
+    /**
+     * The cache clock when the template was last compiled
+     */
+    private volatile long used = clock.incrementAndGet();
+
+    /**
+     * Initialize the message template
+     *
+     * @param message the template text
+     */
+    private MessageTemplate(final String message) {
+        this.text = message;
+
+        List<String> literalList = new ArrayList<>();
+        List<String> nameList = new ArrayList<>();
+        int start = 0;
+        int textLength = message.length();
+        for (int i = 0; i < textLength; i++) {
+            if (message.charAt(i) != '{')
+                continue;
+
+            int end = i + 1;
+            while (end < textLength && message.charAt(end) != '}' && message.charAt(end) != '{')
+                end++;
+            if (end == textLength || message.charAt(end) != '}' || end == i + 1)
+                continue;
+
+            literalList.add(message.substring(start, i));
+            nameList.add(message.substring(i + 1, end));
+            start = end + 1;
+            i = end;
+        }
+        literalList.add(message.substring(start));
+
+        this.literals = literalList.toArray(new String[0]);
+        this.names = nameList.toArray(new String[0]);
+        this.indexes = new int[this.names.length];
+
+        int literalLength = 0;
+        for (String literal : this.literals)
+            literalLength += literal.length();
+        this.length = literalLength;
+
+        for (int i = 0; i < this.names.length; i++)
+            this.indexes[i] = index(this.names[i]);
+    }
+
+    /**
+     * Compile the text into a message template. Templates
+     * are cached by text
+     *
+     * @param text the template text
+     * @return the message template
+     */
+    public static MessageTemplate compile(final @NotNull String text) {
+        MessageTemplate template = cache.get(text);
+        if (template != null) {
+            long now = clock.get();
+            if (template.used != now)
+                template.used = now;
+
+            return template;
+        }
+
+        template = new MessageTemplate(text);
+        MessageTemplate previous = cache.putIfAbsent(text, template);
+        if (previous != null)
+            return previous;
+
+        if (cache.size() > CACHE_SIZE)
+            evict();
+        return template;
+    }
+
+    /**
+     * Render the template, replacing {0}, {1}... with
+     * the specified replaces
+     *
+     * @param replaces the template replaces
+     * @return the rendered template
+     */
+    public String format(final Object... replaces) {
+        if (this.names.length == 0 || replaces.length == 0)
+            return this.text;
+
+        String[] values = new String[this.names.length];
+        int size = this.length;
+        for (int i = 0; i < values.length; i++) {
+            int index = this.indexes[i];
+            values[i] = (index != -1 && index < replaces.length ? value(replaces[index]) : null);
+            size += (values[i] == null ? this.names[i].length() + 2 : values[i].length());
+        }
+
+        return render(values, size);
+    }
+
+    /**
+     * Render the template, replacing {name} with the
+     * specified replaces
+     *
+     * @param replaces the template replaces
+     * @return the rendered template
+     */
+    public String format(final Map<String, ?> replaces) {
+        if (this.names.length == 0 || replaces.isEmpty())
+            return this.text;
+
+        String[] values = new String[this.names.length];
+        int size = this.length;
+        for (int i = 0; i < values.length; i++) {
+            String name = this.names[i];
+            values[i] = (replaces.containsKey(name) ? value(replaces.get(name)) : null);
+            size += (values[i] == null ? name.length() + 2 : values[i].length());
+        }
+
+        return render(values, size);
+    }
+
+    /**
+     * Get the template placeholders amount
+     *
+     * @return the template placeholders
+     */
+    public int placeholders() {
+        return this.names.length;
+    }
+
+    /**
+     * Get the template text
+     *
+     * @return the template text
+     */
+    @Override
+    public String toString() {
+        return this.text;
+    }
+
+    /**
+     * Append the template segments into the thread
+     * builder
+     *
+     * @param values the placeholder values, null values
+     *               keep the placeholder
+     * @param size the rendered text size
+     * @return the rendered template
+     */
+    private String render(final String[] values, final int size) {
+        StringBuilder builder = builders.get();
+        builder.setLength(0);
+        builder.ensureCapacity(size);
+
+        for (int i = 0; i < values.length; i++) {
+            builder.append(this.literals[i]);
+            if (values[i] == null) {
+                builder.append('{').append(this.names[i]).append('}');
+            } else {
+                builder.append(values[i]);
+            }
+        }
+        builder.append(this.literals[values.length]);
+
+        String result = builder.toString();
+        if (builder.capacity() > BUILDER_SIZE)
+            builders.remove();
+        return result;
+    }
+
+    /**
+     * Remove the least recently used templates from
+     * the cache. Only one thread evicts at a time, the
+     * others keep using the cache meanwhile
+     */
+    private static void evict() {
+        if (!evicting.compareAndSet(false, true))
+            return;
+
+        try {
+            List<MessageTemplate> templates = new ArrayList<>(cache.values());
+            int remove = templates.size() - CACHE_SIZE + EVICT_SIZE;
+            if (remove <= 0)
+                return;
+
+            long[] uses = new long[templates.size()];
+            for (int i = 0; i < uses.length; i++)
+                uses[i] = templates.get(i).used;
+            Arrays.sort(uses);
+
+            long oldest = uses[remove - 1];
+            for (MessageTemplate template : templates) {
+                if (template.used <= oldest)
+                    cache.remove(template.text, template);
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * Get the placeholder index
+     *
+     * @param name the placeholder name
+     * @return the placeholder index or -1 if
+     * it's not an indexed placeholder
+     */
+    private static int index(final String name) {
+        if (name.length() > 9)
+            return -1;
+
+        int index = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char character = name.charAt(i);
+            if (character < '0' || character > '9')
+                return -1;
+            index = index * 10 + (character - '0');
+        }
+        return index;
+    }
+
+    /**
+     * Get the string value of a replace
+     *
+     * @param replace the replace
+     * @return the replace value
+     */
+    private static String value(final Object replace) {
+        if (replace == null)
+            return UNKNOWN;
+
+        try {
+            return replace.toString();
+        } catch (Throwable ex) {
+            return replace.getClass().getName() + '@' + Integer.toHexString(System.identityHashCode(replace));
+        }
+    }
+}
@@ -48,6 +48,17 @@ public class OptionsBuilder {
      */
     private TextType type = TextType.ALL_LOWER;
 
+    /**
+     * If the text can repeat the same character
+     * consecutively
+     */
+    private boolean repeats = false;
+
+    /**
+     * If the text is generated with a secure random
+     */
+    private boolean secure = false;
+
     /**
      * Initialize the options builder
      */
@@ -89,6 +100,32 @@ public class OptionsBuilder {
         return this;
     }
 
+    /**
+     * Set if the text can repeat the same character
+     * consecutively
+     *
+     * @param allow allow consecutive repeats
+     * @return this instance
+     */
+    public OptionsBuilder withRepeats(final boolean allow) {
+        repeats = allow;
+
+        return this;
+    }
+
+    /**
+     * Set if the text is generated with a secure
+     * random instead of a thread local random
+     *
+     * @param useSecure use a secure random
+     * @return this instance
+     */
+    public OptionsBuilder withSecureRandom(final boolean useSecure) {
+        secure = useSecure;
+
+        return this;
+    }
+
     /**
      * Get the text size
      *
@@ -115,4 +152,23 @@ public class OptionsBuilder {
     public TextType getType() {
         return type;
     }
+
+    /**
+     * Get if the text can repeat the same character
+     * consecutively
+     *
+     * @return if the text allows consecutive repeats
+     */
+    public boolean allowsRepeats() {
+        return repeats;
+    }
+
+    /**
+     * Get if the text is generated with a secure random
+     *
+     * @return if the text uses a secure random
+     */
+    public boolean isSecure() {
+        return secure;
+    }
 }
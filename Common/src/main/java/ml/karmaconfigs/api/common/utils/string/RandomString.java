@@ -25,13 +25,47 @@ package ml.karmaconfigs.api.common.utils.string;
  *  SOFTWARE.
  */
 
+import ml.karmaconfigs.api.common.utils.string.util.TextType;
+
+import java.security.SecureRandom;
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Karma random string generator
  */
 public final class RandomString {
 
+    /**
+     * Lower case letters
+     */
+    private final static char[] LOWER = "abcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    /**
+     * Upper case letters
+     */
+    private final static char[] UPPER = "ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+
+    /**
+     * Lower case letters and numbers
+     */
+    private final static char[] LOWER_NUMBERS = "abcdefghijklmnopqrstuvwxyz0123456789".toCharArray();
+
+    /**
+     * Upper case letters and numbers
+     */
+    private final static char[] UPPER_NUMBERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".toCharArray();
+
+    /**
+     * Numbers
+     */
+    private final static char[] NUMBERS = "0123456789".toCharArray();
+
+    /**
+     * The secure random instance
+     */
+    private final static SecureRandom secureRandom = new SecureRandom();
+
     /**
      * The text options
      */
@@ -59,56 +93,59 @@ public final class RandomString {
      * @return the generated random text
      */
     public String create() {
-        char[] salt;
+        int size = Math.max(options.getSize(), 0);
+        if (size == 0)
+            return "";
+
+        char[] lower;
+        char[] upper;
         switch (options.getContent()) {
             case ONLY_NUMBERS:
-                salt = new char[]{'0', '1', '2', '3', '4', '5', '6', '7', '8', '9'};
+                lower = NUMBERS;
+                upper = NUMBERS;
                 break;
             case NUMBERS_AND_LETTERS:
-                salt = new char[]{
-                        'a', 'b', 'c', 'd', 'e', 'f', 'g', 'h', 'i', 'j',
-                        'k', 'l', 'm', 'n', 'o', 'p', 'q', 'r', 's', 't',
-                        'u', 'v', 'x', 'y', 'z', '0', '1', '2', '3', '4',
-                        '5', '6', '7', '8', '9'};
+                lower = LOWER_NUMBERS;
+                upper = UPPER_NUMBERS;
                 break;
             default:
-                salt = new char[]{
-                        'a', 'b', 'c', 'd', 'e', 'f', 'g', 'h', 'i', 'j',
-                        'k', 'l', 'm', 'n', 'o', 'p', 'q', 'r', 's', 't',
-                        'u', 'v', 'x', 'y', 'z'};
+                lower = LOWER;
+                upper = UPPER;
                 break;
         }
-        StringBuilder result = new StringBuilder();
-        int last_int = 0;
-        for (int i = 0; i < options.getSize(); i++) {
-            int random = (new Random()).nextInt(salt.length);
-            if (last_int != random) {
-                int random_s;
-                String lower = String.valueOf(salt[random]);
-                String upper = String.valueOf(salt[random]).toUpperCase();
-                switch (options.getType()) {
-                    case ALL_LOWER:
-                        result.append(lower);
-                        break;
-                    case ALL_UPPER:
-                        result.append(upper);
-                        break;
-                    default:
-                        random_s = (new Random()).nextInt(100);
-                        if (random_s > 50) {
-                            result.append(lower);
-                            break;
-                        }
-                        result.append(upper);
-                        break;
-                }
-                last_int = random;
+
+        Random random = (options.isSecure() ? secureRandom : ThreadLocalRandom.current());
+        boolean repeats = options.allowsRepeats();
+        TextType type = options.getType();
+
+        char[] result = new char[size];
+        int length = lower.length;
+        int last = -1;
+        for (int i = 0; i < size; i++) {
+            int index;
+            if (repeats || last == -1) {
+                index = random.nextInt(length);
             } else {
-                i--;
+                index = random.nextInt(length - 1);
+                if (index >= last)
+                    index++;
+            }
+
+            switch (type) {
+                case ALL_LOWER:
+                    result[i] = lower[index];
+                    break;
+                case ALL_UPPER:
+                    result[i] = upper[index];
+                    break;
+                default:
+                    result[i] = (random.nextBoolean() ? lower[index] : upper[index]);
+                    break;
             }
+            last = index;
         }
 
-        return result.toString();
+        return new String(result);
     }
 
     /**
@@ -25,6 +25,7 @@ package ml.karmaconfigs.api.common.utils.string;
  *  SOFTWARE.
  */
 
+import ml.karmaconfigs.api.common.utils.codec.Codecs;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
@@ -69,20 +70,7 @@ public final class StringUtils {
      * @return the translated text
      */
     public static String toColor(final String text) {
-        String str = text;
-        HashSet<String> color_codes = new HashSet<>();
-        for (int i = 0; i < text.length(); i++) {
-            char curr = text.charAt(i);
-            char next = Character.MIN_VALUE;
-            if (i + 1 != text.length())
-                next = text.charAt(i + 1);
-            if (next != '\000' && !Character.isSpaceChar(next) &&
-                    curr == '&')
-                color_codes.add(String.valueOf(curr) + next);
-        }
-        for (String color_code : color_codes)
-            str = str.replace(color_code, color_code.replace('&', '\u00A7'));
-        return str;
+        return ColorTranslator.translate(text, ColorTranslator.COLOR);
     }
 
     /**
@@ -93,75 +81,7 @@ public final class StringUtils {
      * @return the translated text
      */
     public static String toConsoleColor(final String text) {
-        String str = text;
-        HashSet<String> color_codes = new HashSet<>();
-        for (int i = 0; i < text.length(); i++) {
-            char curr = text.charAt(i);
-            char next = Character.MIN_VALUE;
-            if (i + 1 != text.length())
-                next = text.charAt(i + 1);
-            if (next != '\000' && !Character.isSpaceChar(next) && (
-                    curr == '&' || curr == '\u00A7'))
-                color_codes.add(String.valueOf(curr).replace("\u00A7", "&") + next);
-        }
-        for (String color_code : color_codes) {
-            String tmp_color = "\033[0m";
-            switch (color_code.toLowerCase()) {
-                case "&0":
-                    tmp_color = "\033[0;30m";
-                    break;
-                case "&1":
-                    tmp_color = "\033[0;34m";
-                    break;
-                case "&2":
-                    tmp_color = "\033[0;32m";
-                    break;
-                case "&3":
-                    tmp_color = "\033[0;36m";
-                    break;
-                case "&4":
-                    tmp_color = "\033[0;31m";
-                    break;
-                case "&5":
-                    tmp_color = "\033[0;35m";
-                    break;
-                case "&6":
-                    tmp_color = "\033[0;33m";
-                    break;
-                case "&7":
-                    tmp_color = "\033[0;37m";
-                    break;
-                case "&8":
-                    tmp_color = "\033[0;90m";
-                    break;
-                case "&9":
-                    tmp_color = "\033[0;94m";
-                    break;
-                case "&a":
-                    tmp_color = "\033[0;92m";
-                    break;
-                case "&b":
-                    tmp_color = "\033[0;96m";
-                    break;
-                case "&c":
-                    tmp_color = "\033[0;91m";
-                    break;
-                case "&d":
-                    tmp_color = "\033[0;95m";
-                    break;
-                case "&e":
-                    tmp_color = "\033[0;93m";
-                    break;
-                case "&f":
-                    tmp_color = "\033[0;97m";
-                    break;
-                case "&r":
-                    tmp_color = "\033[0m";
-                    break;
-            }
-            str = str.replace(color_code, tmp_color);
-        }
-        return str;
+        return ColorTranslator.translate(text, ColorTranslator.CONSOLE);
     }
 
     /**
@@ -172,22 +92,9 @@ public final class StringUtils {
      * @return the colored texts
      */
     public static List<String> toColor(final List<String> texts) {
-        List<String> newTexts = new ArrayList<>();
-        HashSet<String> color_codes = new HashSet<>();
-        for (String text : texts) {
-            for (int x = 0; x < text.length(); x++) {
-                char curr = text.charAt(x);
-                char next = Character.MIN_VALUE;
-                if (x + 1 != text.length())
-                    next = text.charAt(x + 1);
-                if (next != '\000' && !Character.isSpaceChar(next) &&
-                        curr == '&')
-                    color_codes.add(String.valueOf(curr) + next);
-            }
-            for (String color_code : color_codes)
-                text = text.replace(color_code, color_code.replace('&', '\u00A7'));
-            newTexts.add(text);
-        }
+        List<String> newTexts = new ArrayList<>(texts.size());
+        for (String text : texts)
+            newTexts.add(ColorTranslator.translate(text, ColorTranslator.COLOR));
         return newTexts;
     }
 
@@ -200,14 +107,9 @@ public final class StringUtils {
      */
     public static Set<String> getColors(final String text) {
         Set<String> color_codes = new HashSet<>();
-        for (int i = 0; i < text.length(); i++) {
-            char curr = text.charAt(i);
-            char next = Character.MIN_VALUE;
-            if (i + 1 != text.length())
-                next = text.charAt(i + 1);
-            if (next != '\000' && !Character.isSpaceChar(next) &&
-                    curr == '&')
-                color_codes.add(String.valueOf(curr) + next);
+        for (int i = 0; i < text.length() - 1; i++) {
+            if (text.charAt(i) == '&' && ColorTranslator.isCode(text.charAt(i + 1)))
+                color_codes.add(text.substring(i, i + 2));
         }
         return color_codes;
     }
@@ -219,25 +121,7 @@ public final class StringUtils {
      * @return the text colors
      */
     public static String getLastColor(final String text) {
-        List<String> color_codes = new ArrayList<>();
-        for (int i = 0; i < text.length(); i++) {
-            char curr = text.charAt(i);
-            char next = Character.MIN_VALUE;
-            if (i + 1 != text.length())
-                next = text.charAt(i + 1);
-            if (next != '\000' && !Character.isSpaceChar(next) && (
-                    curr == '&' || curr == '\u00A7'))
-                color_codes.add(String.valueOf(curr) + next);
-        }
-        try {
-            return color_codes.get(color_codes.size() - 1);
-        } catch (Throwable ex) {
-            try {
-                return color_codes.get(0);
-            } catch (Throwable exc) {
-                return "";
-            }
-        }
+        return ColorTranslator.last(text);
     }
 
     /**
@@ -249,33 +133,14 @@ public final class StringUtils {
      * @return the texts last color
      */
     public static String getLastColor(final List<String> texts, final int index) {
-        List<String> color_codes = new ArrayList<>();
         int tmpIndex = index;
         if (index == texts.size())
             tmpIndex--;
-        if (texts.size() > tmpIndex)
-            try {
-                String text = texts.get(tmpIndex);
-                for (int i = 0; i < text.length(); i++) {
-                    char curr = text.charAt(i);
-                    char next = Character.MIN_VALUE;
-                    if (i + 1 != text.length())
-                        next = text.charAt(i + 1);
-                    if (next != '\000' && !Character.isSpaceChar(next) && (
-                            curr == '&' || curr == '\u00A7'))
-                        color_codes.add(String.valueOf(curr) + next);
-                }
-                try {
-                    return color_codes.get(color_codes.size() - 1);
-                } catch (Throwable ex) {
-                    try {
-                        return color_codes.get(0);
-                    } catch (Throwable exc) {
-                        return "";
-                    }
-                }
-            } catch (Throwable ignored) {
-            }
+        if (tmpIndex >= 0 && texts.size() > tmpIndex) {
+            String text = texts.get(tmpIndex);
+            if (text != null)
+                return ColorTranslator.last(text);
+        }
         return "";
     }
 
@@ -286,20 +151,7 @@ public final class StringUtils {
      * @return the text without colors
      */
     public static String stripColor(final String text) {
-        String str = text;
-        HashSet<String> color_codes = new HashSet<>();
-        for (int i = 0; i < str.length(); i++) {
-            char curr = str.charAt(i);
-            char next = Character.MIN_VALUE;
-            if (i + 1 != str.length())
-                next = str.charAt(i + 1);
-            if (next != '\000' && !Character.isSpaceChar(next) && (
-                    curr == '&' || curr == '\u00A7'))
-                color_codes.add(String.valueOf(curr) + next);
-        }
-        for (String color_code : color_codes)
-            str = str.replace(color_code, "");
-        return str;
+        return ColorTranslator.translate(text, ColorTranslator.STRIP);
     }
 
     /**
@@ -309,22 +161,9 @@ public final class StringUtils {
      * @return the uncolored texts
      */
     public static List<String> stripColor(final List<String> texts) {
-        List<String> newTexts = new ArrayList<>();
-        for (String text : texts) {
-            HashSet<String> color_codes = new HashSet<>();
-            for (int x = 0; x < text.length(); x++) {
-                char curr = text.charAt(x);
-                char next = Character.MIN_VALUE;
-                if (x + 1 != text.length())
-                    next = text.charAt(x + 1);
-                if (next != '\000' && !Character.isSpaceChar(next) && (
-                        curr == '&' || curr == '\u00A7'))
-                    color_codes.add(String.valueOf(curr) + next);
-            }
-            for (String color_code : color_codes)
-                text = text.replace(color_code, "");
-            newTexts.add(text);
-        }
+        List<String> newTexts = new ArrayList<>(texts.size());
+        for (String text : texts)
+            newTexts.add(ColorTranslator.translate(text, ColorTranslator.STRIP));
         return newTexts;
     }
 
@@ -386,22 +225,9 @@ public final class StringUtils {
      * @return the formatted text
      */
     public static String formatString(final String text, final Object... replaces) {
-        String str = text;
-        for (int i = 0; i < replaces.length; i++) {
-            String placeholder = "{" + i + "}";
-            Object valObj = replaces[i];
-            String val = "[unknown]";
-            if (valObj != null) {
-                try {
-                    val = valObj.toString();
-                } catch (Throwable ex) {
-                    val = String.valueOf(replaces[i]);
-                }
-            }
-
-            str = str.replace(placeholder, val);
-        }
-        return str;
+        if (replaces.length == 0 || text.indexOf('{') == -1)
+            return text;
+        return MessageTemplate.compile(text).format(replaces);
     }
 
     /**
@@ -412,13 +238,9 @@ public final class StringUtils {
      * @return the formatted text
      */
     public static String formatString(final String text, final Map<String, Object> replaces) {
-        String str = text;
-        for (String key : replaces.keySet()) {
-            String placeholder = "{" + key + "}";
-            String val = replaces.get(key).toString();
-            str = str.replace(placeholder, val);
-        }
-        return str;
+        if (replaces.isEmpty() || text.indexOf('{') == -1)
+            return text;
+        return MessageTemplate.compile(text).format(replaces);
     }
 
     /**
@@ -504,18 +326,15 @@ public final class StringUtils {
     }
 
     /**
-     * Serialize an object into a text
+     * Serialize an object into a text, using the
+     * preferred {@link Codecs codec}
      *
      * @param instance the object instance
      * @return the serialized object
      */
     public static <T> String serialize(final T instance) {
         try {
-            ByteArrayOutputStream bo = new ByteArrayOutputStream();
-            ObjectOutputStream so = new ObjectOutputStream(bo);
-            so.writeObject(instance);
-            so.flush();
-            return Base64.getEncoder().encodeToString(bo.toByteArray());
+            return Codecs.serialize(instance);
         } catch (Throwable ex) {
             ex.printStackTrace();
             return "";
@@ -523,7 +342,9 @@ public final class StringUtils {
     }
 
     /**
-     * Load the instance as an unknown object
+     * Load the instance as an unknown object, only
+     * types allowed by {@link Codecs#isAllowed(String)}
+     * can be loaded
      *
      * @param instance the serialized instance
      * @return the instance object
@@ -531,10 +352,26 @@ public final class StringUtils {
     @Nullable
     public static Object load(final String instance) {
         try {
-            byte[] bytes = Base64.getDecoder().decode(instance);
-            ByteArrayInputStream bi = new ByteArrayInputStream(bytes);
-            ObjectInputStream si = new ObjectInputStream(bi);
-            return si.readObject();
+            return Codecs.deserialize(instance);
+        } catch (Throwable ex) {
+            ex.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Load the instance as a known object, the type
+     * and the types of its package are allowed
+     *
+     * @param instance the serialized instance
+     * @param type the instance type
+     * @param <T> the type
+     * @return the instance object
+     */
+    @Nullable
+    public static <T> T load(final String instance, final Class<T> type) {
+        try {
+            return Codecs.deserialize(instance, type);
         } catch (Throwable ex) {
             ex.printStackTrace();
             return null;
@@ -25,6 +25,7 @@ package ml.karmaconfigs.api.common.utils.string;
  *  SOFTWARE.
  */
 
+import ml.karmaconfigs.api.common.utils.string.util.SemanticVersion;
 import ml.karmaconfigs.api.common.utils.string.util.VersionDiff;
 
 /**
@@ -52,23 +53,16 @@ public class VersionComparator {
     }
 
     /**
-     * Get the version difference
+     * Get the version difference, pre-release
+     * versions are lower than their release
      *
      * @return the version difference
      */
     public VersionDiff getDifference() {
-        String[] currentParts = options.getCurrentVersion().split("\\.");
-        String[] checkParts = options.getCheckVersion().split("\\.");
-        int length = Math.max(currentParts.length, checkParts.length);
-        for (int i = 0; i < length; i++) {
-            int currentPart = (i < currentParts.length) ? Integer.parseInt(currentParts[i]) : 0;
-            int checkPart = (i < checkParts.length) ? Integer.parseInt(checkParts[i]) : 0;
-            if (currentPart < checkPart)
-                return VersionDiff.OUTDATED;
-            if (currentPart > checkPart)
-                return VersionDiff.OVERDATED;
-        }
-        return VersionDiff.UPDATED;
+        SemanticVersion current = SemanticVersion.parse(options.getCurrentVersion());
+        SemanticVersion check = SemanticVersion.parse(options.getCheckVersion());
+
+        return current.difference(check);
     }
 
     /**
@@ -0,0 +1,350 @@
+package ml.karmaconfigs.api.common.utils.string.util;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Karma parsed version. Versions are made of numeric parts,
+ * an optional pre-release ( 1.0.0-beta.2 ) and an optional
+ * build metadata ( 1.0.0+45 ), which is ignored when comparing
+ */
+public final class SemanticVersion implements Comparable<SemanticVersion> {
+
+    /**
+     * The maximum amount of cached versions
+     */
+    private final static int CACHE_SIZE = 2048;
+
+    /**
+     * The parsed versions cache
+     */
+    private final static Map<String, SemanticVersion> cache = new ConcurrentHashMap<>();
+
+    /**
+     * The version text
+     */
+    private final String raw;
+
+    /**
+     * The version numeric parts, without trailing zeros
+     */
+    private final int[] parts;
+
+    /**
+     * The version pre-release identifiers
+     */
+    private final String[] preRelease;
+
+    /**
+     * The version build metadata
+     */
+    private final String build;
+
+    /**
+     * The version numeric parts packed in a single
+     * number, only valid if the version is packed
+     */
+    private final long key;
+
+    /**
+     * If the version numeric parts fit in the key
+     */
+    private final boolean packed;
+
+    /**
+     * The version hash code
+     */
+    private final int hash;
+
+    /**
+     * Initialize the version
+     *
+     * @param text the version text
+     */
+    private SemanticVersion(final String text) {
+        this.raw = text;
+
+        String version = text.trim();
+        if (version.length() > 1 && (version.charAt(0) == 'v' || version.charAt(0) == 'V') && Character.isDigit(version.charAt(1)))
+            version = version.substring(1);
+
+        int buildIndex = version.indexOf('+');
+        this.build = (buildIndex != -1 ? version.substring(buildIndex + 1) : "");
+        if (buildIndex != -1)
+            version = version.substring(0, buildIndex);
+
+        List<Integer> numbers = new ArrayList<>(4);
+        int index = 0;
+        int length = version.length();
+        while (index < length) {
+            int start = index;
+            long value = 0L;
+            while (index < length && Character.isDigit(version.charAt(index))) {
+                value = Math.min(Integer.MAX_VALUE, value * 10L + (version.charAt(index) - '0'));
+                index++;
+            }
+            if (index == start)
+                break;
+
+            numbers.add((int) value);
+            if (index < length && version.charAt(index) == '.' && index + 1 < length && Character.isDigit(version.charAt(index + 1))) {
+                index++;
+            } else {
+                break;
+            }
+        }
+
+        String qualifier = version.substring(index);
+        if (!qualifier.isEmpty() && (qualifier.charAt(0) == '-' || qualifier.charAt(0) == '.' || qualifier.charAt(0) == '_'))
+            qualifier = qualifier.substring(1);
+        this.preRelease = (qualifier.isEmpty() ? new String[0] : qualifier.split("[.\\-_]"));
+
+        int size = numbers.size();
+        while (size > 0 && numbers.get(size - 1) == 0)
+            size--;
+        this.parts = new int[size];
+        for (int i = 0; i < size; i++)
+            this.parts[i] = numbers.get(i);
+
+        boolean fits = size <= 4;
+        long packedKey = 0L;
+        for (int i = 0; i < 4 && fits; i++) {
+            int part = (i < size ? this.parts[i] : 0);
+            if (part > 0xFFFF) {
+                fits = false;
+            } else {
+                packedKey = (packedKey << 16) | part;
+            }
+        }
+        this.packed = fits;
+        this.key = packedKey;
+        this.hash = 31 * Arrays.hashCode(this.parts) + Arrays.hashCode(this.preRelease);
+    }
+
+    /**
+     * Parse a version, parsed versions are
+     * cached by text
+     *
+     * @param text the version text
+     * @return the parsed version
+     */
+    public static SemanticVersion parse(final @NotNull String text) {
+        SemanticVersion version = cache.get(text);
+        if (version == null) {
+            version = new SemanticVersion(text);
+            if (cache.size() >= CACHE_SIZE) {
+                Iterator<String> keys = cache.keySet().iterator();
+                if (keys.hasNext()) {
+                    keys.next();
+                    keys.remove();
+                }
+            }
+
+            SemanticVersion previous = cache.putIfAbsent(text, version);
+            if (previous != null)
+                version = previous;
+        }
+
+        return version;
+    }
+
+    /**
+     * Get a numeric part of the version
+     *
+     * @param index the part index
+     * @return the version part, 0 if the version
+     * does not have the part
+     */
+    public int getPart(final int index) {
+        return (index >= 0 && index < this.parts.length ? this.parts[index] : 0);
+    }
+
+    /**
+     * Get the version pre-release identifiers
+     *
+     * @return the version pre-release identifiers
+     */
+    public String[] getPreRelease() {
+        return this.preRelease.clone();
+    }
+
+    /**
+     * Get the version build metadata
+     *
+     * @return the version build metadata
+     */
+    public String getBuild() {
+        return this.build;
+    }
+
+    /**
+     * Get if the version is a pre-release
+     *
+     * @return if the version is a pre-release
+     */
+    public boolean isPreRelease() {
+        return this.preRelease.length > 0;
+    }
+
+    /**
+     * Get the difference between this version
+     * and the specified one
+     *
+     * @param check the version to check against
+     * @return the version difference
+     */
+    public VersionDiff difference(final @NotNull SemanticVersion check) {
+        int result = compareTo(check);
+        if (result < 0)
+            return VersionDiff.OUTDATED;
+        if (result > 0)
+            return VersionDiff.OVERDATED;
+
+        return VersionDiff.UPDATED;
+    }
+
+    /**
+     * Compare this version with the specified one
+     *
+     * @param other the other version
+     * @return the comparison result
+     */
+    @Override
+    public int compareTo(final @NotNull SemanticVersion other) {
+        if (this == other)
+            return 0;
+
+        if (this.packed && other.packed) {
+            if (this.key != other.key)
+                return Long.compare(this.key, other.key);
+        } else {
+            int length = Math.max(this.parts.length, other.parts.length);
+            for (int i = 0; i < length; i++) {
+                int result = Integer.compare(getPart(i), other.getPart(i));
+                if (result != 0)
+                    return result;
+            }
+        }
+
+        if (this.preRelease.length == 0 || other.preRelease.length == 0)
+            return Integer.compare(other.preRelease.length, this.preRelease.length);
+
+        int length = Math.min(this.preRelease.length, other.preRelease.length);
+        for (int i = 0; i < length; i++) {
+            int result = compareIdentifier(this.preRelease[i], other.preRelease[i]);
+            if (result != 0)
+                return result;
+        }
+
+        return Integer.compare(this.preRelease.length, other.preRelease.length);
+    }
+
+    /**
+     * Compare two pre-release identifiers, numeric
+     * identifiers are lower than text ones
+     *
+     * @param first the first identifier
+     * @param second the second identifier
+     * @return the comparison result
+     */
+    private static int compareIdentifier(final String first, final String second) {
+        boolean firstNumeric = isNumeric(first);
+        boolean secondNumeric = isNumeric(second);
+        if (firstNumeric && secondNumeric) {
+            int result = Integer.compare(first.length(), second.length());
+            return (result != 0 ? result : first.compareTo(second));
+        }
+        if (firstNumeric)
+            return -1;
+        if (secondNumeric)
+            return 1;
+
+        return first.compareTo(second);
+    }
+
+    /**
+     * Get if an identifier is numeric
+     *
+     * @param identifier the identifier
+     * @return if the identifier is numeric
+     */
+    private static boolean isNumeric(final String identifier) {
+        if (identifier.isEmpty())
+            return false;
+
+        for (int i = 0; i < identifier.length(); i++) {
+            if (!Character.isDigit(identifier.charAt(i)))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get if the version is equal to the specified
+     * object, the build metadata is ignored
+     *
+     * @param other the other object
+     * @return if the objects are equal
+     */
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other)
+            return true;
+        if (!(other instanceof SemanticVersion))
+            return false;
+
+        SemanticVersion version = (SemanticVersion) other;
+        return this.hash == version.hash && Arrays.equals(this.parts, version.parts) && Arrays.equals(this.preRelease, version.preRelease);
+    }
+
+    /**
+     * Get the version hash code
+     *
+     * @return the version hash code
+     */
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+    /**
+     * Get the version text
+     *
+     * @return the version text
+     */
+    @Override
+    public String toString() {
+        return this.raw;
+    }
+}
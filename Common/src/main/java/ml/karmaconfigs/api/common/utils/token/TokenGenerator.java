@@ -25,8 +25,11 @@ package ml.karmaconfigs.api.common.utils.token;
  *  SOFTWARE.
  */
 
+import ml.karmaconfigs.api.common.utils.enums.TokenEncoding;
+
 import java.security.SecureRandom;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Karma token generator
@@ -34,28 +37,177 @@ import java.util.Base64;
 public class TokenGenerator {
 
     /**
-     * Secure random instance
+     * The default token length, in random bytes
      */
-    private static final SecureRandom random = new SecureRandom();
+    public static final int DEFAULT_LENGTH = 32;
 
     /**
-     * Token symbols
+     * Base64 url symbols
      */
-    private static final char[] symbols = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".toCharArray();
+    private static final char[] BASE64_URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
 
     /**
-     * The token buffer
+     * Hexadecimal symbols
      */
-    private static final char[] buf = new char[512];
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
 
     /**
-     * Generate a new token
+     * Crockford base32 symbols
+     */
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    /**
+     * The thread secure random instances
+     */
+    private static final ThreadLocal<SecureRandom> random = ThreadLocal.withInitial(SecureRandom::new);
+
+    /**
+     * The thread random bytes buffers
+     */
+    private static final ThreadLocal<byte[]> buffers = ThreadLocal.withInitial(() -> new byte[DEFAULT_LENGTH]);
+
+    /**
+     * Generate a new token of {@link #DEFAULT_LENGTH} random
+     * bytes, encoded as url safe base64
      *
      * @return a new token
      */
     public static String generateToken() {
-        for (int idx = 0; idx < buf.length; idx++)
-            buf[idx] = symbols[random.nextInt(symbols.length)];
-        return Base64.getUrlEncoder().encodeToString((new String(buf)).getBytes());
+        return generateToken(DEFAULT_LENGTH, TokenEncoding.BASE64_URL);
+    }
+
+    /**
+     * Generate a new token, encoded as url safe base64
+     *
+     * @param length the token length, in random bytes
+     * @return a new token
+     */
+    public static String generateToken(final int length) {
+        return generateToken(length, TokenEncoding.BASE64_URL);
+    }
+
+    /**
+     * Generate a new token
+     *
+     * @param length the token length, in random bytes
+     * @param encoding the token encoding
+     * @return a new token
+     */
+    public static String generateToken(final int length, final TokenEncoding encoding) {
+        byte[] buffer = fill(length);
+        return encode(buffer, 0, length, encoding);
+    }
+
+    /**
+     * Generate new tokens of {@link #DEFAULT_LENGTH} random
+     * bytes, encoded as url safe base64
+     *
+     * @param amount the amount of tokens
+     * @return the new tokens
+     */
+    public static List<String> generateTokens(final int amount) {
+        return generateTokens(amount, DEFAULT_LENGTH, TokenEncoding.BASE64_URL);
+    }
+
+    /**
+     * Generate new tokens, the random bytes of all
+     * the tokens are generated at once
+     *
+     * @param amount the amount of tokens
+     * @param length the tokens length, in random bytes
+     * @param encoding the tokens encoding
+     * @return the new tokens
+     */
+    public static List<String> generateTokens(final int amount, final int length, final TokenEncoding encoding) {
+        if (amount < 0)
+            throw new IllegalArgumentException("Cannot generate a negative amount of tokens");
+
+        List<String> tokens = new ArrayList<>(amount);
+        int batch = Math.max(1, 8192 / Math.max(length, 1));
+        for (int generated = 0; generated < amount; generated += batch) {
+            int count = Math.min(batch, amount - generated);
+            byte[] buffer = fill(count * length);
+            for (int i = 0; i < count; i++)
+                tokens.add(encode(buffer, i * length, length, encoding));
+        }
+        return tokens;
+    }
+
+    /**
+     * Fill the thread buffer with random bytes
+     *
+     * @param length the amount of random bytes
+     * @return the thread buffer
+     */
+    private static byte[] fill(final int length) {
+        if (length <= 0)
+            throw new IllegalArgumentException("Token length must be positive");
+
+        byte[] buffer = buffers.get();
+        if (buffer.length != length) {
+            buffer = new byte[length];
+            if (length <= 8192)
+                buffers.set(buffer);
+        }
+
+        random.get().nextBytes(buffer);
+        return buffer;
+    }
+
+    /**
+     * Encode a section of the random bytes
+     *
+     * @param bytes the random bytes
+     * @param from the section start
+     * @param length the section length
+     * @param encoding the encoding
+     * @return the encoded bytes
+     */
+    private static String encode(final byte[] bytes, final int from, final int length, final TokenEncoding encoding) {
+        switch (encoding) {
+            case HEX:
+                char[] hex = new char[length * 2];
+                for (int i = 0; i < length; i++) {
+                    int value = bytes[from + i] & 0xFF;
+                    hex[i * 2] = HEX[value >>> 4];
+                    hex[i * 2 + 1] = HEX[value & 0xF];
+                }
+                return new String(hex);
+            case CROCKFORD:
+                return bits(bytes, from, length, 5, CROCKFORD);
+            case BASE64_URL:
+            default:
+                return bits(bytes, from, length, 6, BASE64_URL);
+        }
+    }
+
+    /**
+     * Encode a section of the random bytes in groups
+     * of bits, without padding
+     *
+     * @param bytes the random bytes
+     * @param from the section start
+     * @param length the section length
+     * @param bits the bits per symbol
+     * @param symbols the encoding symbols
+     * @return the encoded bytes
+     */
+    private static String bits(final byte[] bytes, final int from, final int length, final int bits, final char[] symbols) {
+        char[] encoded = new char[(length * 8 + bits - 1) / bits];
+        int mask = (1 << bits) - 1;
+        int buffer = 0;
+        int available = 0;
+        int index = 0;
+        for (int i = from; i < from + length; i++) {
+            buffer = (buffer << 8) | (bytes[i] & 0xFF);
+            available += 8;
+            while (available >= bits) {
+                available -= bits;
+                encoded[index++] = symbols[(buffer >>> available) & mask];
+            }
+        }
+        if (available > 0)
+            encoded[index] = symbols[(buffer << (bits - available)) & mask];
+        return new String(encoded);
     }
 }
@@ -0,0 +1,116 @@
+package ml.karmaconfigs.api.common.utils.token;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import java.util.UUID;
+
+/**
+ * Karma stored token record
+ */
+final class TokenRecord {
+
+    /**
+     * The token ID
+     */
+    private final UUID id;
+
+    /**
+     * The token salt, base64 url encoded
+     */
+    private final String salt;
+
+    /**
+     * The encrypted token, base64 url encoded
+     */
+    private final String token;
+
+    /**
+     * The token expiration epoch millis, -1 if
+     * the token never expires
+     */
+    private final long expiration;
+
+    /**
+     * Initialize the token record
+     *
+     * @param tokenID the token ID
+     * @param tokenSalt the token salt
+     * @param encrypted the encrypted token
+     * @param expire the token expiration
+     */
+    TokenRecord(final UUID tokenID, final String tokenSalt, final String encrypted, final long expire) {
+        this.id = tokenID;
+        this.salt = tokenSalt;
+        this.token = encrypted;
+        this.expiration = expire;
+    }
+
+    /**
+     * Get the token ID
+     *
+     * @return the token ID
+     */
+    UUID getId() {
+        return this.id;
+    }
+
+    /**
+     * Get the token salt
+     *
+     * @return the token salt
+     */
+    String getSalt() {
+        return this.salt;
+    }
+
+    /**
+     * Get the encrypted token
+     *
+     * @return the encrypted token
+     */
+    String getToken() {
+        return this.token;
+    }
+
+    /**
+     * Get the token expiration
+     *
+     * @return the token expiration epoch millis
+     */
+    long getExpiration() {
+        return this.expiration;
+    }
+
+    /**
+     * Get if the token is expired
+     *
+     * @param now the current epoch millis
+     * @return if the token is expired
+     */
+    boolean isExpired(final long now) {
+        return this.expiration != -1L && now >= this.expiration;
+    }
+}
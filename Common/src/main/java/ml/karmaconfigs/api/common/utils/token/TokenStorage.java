@@ -26,22 +26,55 @@ package ml.karmaconfigs.api.common.utils.token;
  */
 
 import ml.karmaconfigs.api.common.karma.KarmaSource;
-import ml.karmaconfigs.api.common.karmafile.KarmaFile;
-import ml.karmaconfigs.api.common.utils.string.StringUtils;
+import ml.karmaconfigs.api.common.timer.scheduler.LateScheduler;
+import ml.karmaconfigs.api.common.timer.scheduler.worker.AsyncLateScheduler;
 import ml.karmaconfigs.api.common.utils.token.exception.TokenExpiredException;
 import ml.karmaconfigs.api.common.utils.token.exception.TokenIncorrectPasswordException;
 import ml.karmaconfigs.api.common.utils.token.exception.TokenNotFoundException;
 import ml.karmaconfigs.api.common.utils.token.other.PBECryptoAPI;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * Karma token storage
  */
 public final class TokenStorage {
 
+    /**
+     * The token I/O and crypto workers amount
+     */
+    private final static int WORKERS = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * The token I/O and crypto executor
+     */
+    private final static ExecutorService io = Executors.newFixedThreadPool(WORKERS, new ThreadFactory() {
+        private final AtomicInteger id = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable task) {
+            Thread thread = new Thread(task, "KarmaAPI-TokenIO-" + id.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
     /**
      * The token source
      */
@@ -63,17 +96,13 @@ public final class TokenStorage {
      * @param password the token password
      */
     public void destroy(final UUID tokenID, final String password) {
-        KarmaFile tokenFile = new KarmaFile(this.source, tokenID.toString().replace("-", ""), "cache", "tokens");
-        if (tokenFile.exists() && tokenFile.isSet("TOKEN") && tokenFile.isSet("SALT")) {
-            String storedToken = tokenFile.getString("TOKEN", "");
-            byte[] salt = Base64.getUrlDecoder().decode(tokenFile.getString("SALT", ""));
-            if (!StringUtils.isNullOrEmpty(storedToken)) {
-                PBECryptoAPI api = new PBECryptoAPI(password, Base64.getUrlDecoder().decode(storedToken));
-                try {
-                    api.decrypt(salt);
-                    tokenFile.delete();
-                } catch (Throwable ignored) {
-                }
+        TokenStore store = TokenStore.of(this.source);
+        TokenRecord record = store.get(tokenID);
+        if (record != null) {
+            try {
+                decrypt(record, password);
+                store.remove(tokenID);
+            } catch (Throwable ignored) {
             }
         }
     }
@@ -87,25 +116,43 @@ public final class TokenStorage {
      * @return the token ID
      */
     public UUID store(final String token, final String password, final Instant expiration) {
-        UUID tokenID = UUID.nameUUIDFromBytes(Base64.getUrlDecoder().decode(token));
-        KarmaFile tokenFile = new KarmaFile(this.source, tokenID.toString().replace("-", ""), "cache", "tokens");
-        tokenFile.create();
-        PBECryptoAPI api = new PBECryptoAPI(password, Base64.getUrlDecoder().decode(token));
-        byte[] salt = api.generateSALT();
-        tokenFile.set("SALT", new String(Base64.getUrlEncoder().encode(salt)));
+        byte[] raw = token.getBytes(StandardCharsets.UTF_8);
+        UUID tokenID = UUID.nameUUIDFromBytes(raw);
         try {
-            tokenFile.set("TOKEN", new String(Base64.getUrlEncoder().encode(api.encrypt(salt))));
+            TokenStore.of(this.source).put(encrypt(tokenID, raw, password, expiration));
         } catch (Throwable ex) {
             ex.printStackTrace();
         }
-        if (expiration != null) {
-            tokenFile.set("EXPIRATION", expiration.toString());
-        } else {
-            tokenFile.set("EXPIRATION", "N/A");
-        }
         return tokenID;
     }
 
+    /**
+     * Store multiple tokens at once, the tokens are
+     * written to the storage in a single pass
+     *
+     * @param tokens the tokens and their expiration
+     *               date (null for no expiration)
+     * @param password the tokens password
+     * @return the tokens and their ID
+     */
+    public Map<String, UUID> storeAll(final Map<String, Instant> tokens, final String password) {
+        Map<String, UUID> ids = new LinkedHashMap<>();
+        List<TokenRecord> records = new ArrayList<>(tokens.size());
+        for (Map.Entry<String, Instant> entry : tokens.entrySet()) {
+            byte[] raw = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            UUID tokenID = UUID.nameUUIDFromBytes(raw);
+            try {
+                records.add(encrypt(tokenID, raw, password, entry.getValue()));
+                ids.put(entry.getKey(), tokenID);
+            } catch (Throwable ex) {
+                ex.printStackTrace();
+            }
+        }
+
+        TokenStore.of(this.source).putAll(records);
+        return ids;
+    }
+
     /**
      * Load a token
      *
@@ -118,32 +165,142 @@ public final class TokenStorage {
      * @throws TokenIncorrectPasswordException if the token password's is incorrect
      */
     public String load(final UUID tokenID, final String password) throws TokenNotFoundException, TokenExpiredException, TokenIncorrectPasswordException {
-        KarmaFile tokenFile = new KarmaFile(this.source, tokenID.toString().replace("-", ""), "cache", "tokens");
-        String token = null;
-        Instant expiration = null;
-        if (tokenFile.exists() && tokenFile.isSet("TOKEN") && tokenFile.isSet("SALT")) {
-            String storedToken = tokenFile.getString("TOKEN", "");
-            byte[] salt = Base64.getUrlDecoder().decode(tokenFile.getString("SALT", ""));
-            if (!StringUtils.isNullOrEmpty(storedToken)) {
-                PBECryptoAPI api = new PBECryptoAPI(password, Base64.getUrlDecoder().decode(storedToken));
+        TokenRecord record = TokenStore.of(this.source).get(tokenID);
+        if (record == null)
+            throw new TokenNotFoundException(tokenID);
+
+        String token;
+        try {
+            token = new String(decrypt(record, password), StandardCharsets.UTF_8);
+        } catch (Throwable ex) {
+            throw new TokenIncorrectPasswordException(tokenID);
+        }
+
+        if (record.isExpired(System.currentTimeMillis()))
+            throw new TokenExpiredException(tokenID);
+        return token;
+    }
+
+    /**
+     * Load multiple tokens at once. Tokens that could not
+     * be found, are expired or whose password is not correct
+     * are not included
+     *
+     * @param tokenIDs the tokens ID
+     * @param password the tokens password
+     * @return the tokens ID and their token
+     */
+    public Map<UUID, String> loadAll(final Collection<UUID> tokenIDs, final String password) {
+        TokenStore store = TokenStore.of(this.source);
+        long now = System.currentTimeMillis();
+
+        Map<UUID, String> tokens = new LinkedHashMap<>();
+        for (UUID tokenID : tokenIDs) {
+            TokenRecord record = store.get(tokenID);
+            if (record != null && !record.isExpired(now)) {
                 try {
-                    String tmp_token = new String(api.decrypt(salt));
-                    String instant = tokenFile.getString("EXPIRATION", "N/A");
-                    if (!instant.equalsIgnoreCase("N/A")) {
-                        expiration = Instant.parse(instant);
-                        token = tmp_token;
-                    }
-                } catch (Throwable ex) {
-                    throw new TokenIncorrectPasswordException(tokenID);
+                    tokens.put(tokenID, new String(decrypt(record, password), StandardCharsets.UTF_8));
+                } catch (Throwable ignored) {
                 }
             }
         }
-        if (token != null) {
-            if (expiration == null || Instant.now().isBefore(expiration))
-                return token;
-            throw new TokenExpiredException(tokenID);
-        }
-        throw new TokenNotFoundException(tokenID);
+        return tokens;
+    }
+
+    /**
+     * Destroy a token asynchronously
+     *
+     * @param tokenID the token ID
+     * @param password the token password
+     * @return when the token has been destroyed
+     */
+    public LateScheduler<Void> destroyAsync(final UUID tokenID, final String password) {
+        return async(() -> {
+            destroy(tokenID, password);
+            return null;
+        });
+    }
+
+    /**
+     * Store a token asynchronously. Stores made close
+     * in time are written to the storage together, the
+     * result completes once the token has been written
+     *
+     * @param token the token
+     * @param password the token password
+     * @param expiration the token expiration date (null for no expiration)
+     * @return the token ID
+     */
+    public LateScheduler<UUID> storeAsync(final String token, final String password, final Instant expiration) {
+        LateScheduler<UUID> result = new AsyncLateScheduler<>(io);
+        io.execute(() -> {
+            try {
+                byte[] raw = token.getBytes(StandardCharsets.UTF_8);
+                UUID tokenID = UUID.nameUUIDFromBytes(raw);
+                TokenStore.of(this.source).putLater(encrypt(tokenID, raw, password, expiration)).whenComplete((ignored, error) -> result.complete(tokenID, error));
+            } catch (Throwable ex) {
+                result.complete(null, ex);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Load a token asynchronously
+     *
+     * @param tokenID the token ID
+     * @param password the token password
+     * @return the token, completed with a {@link TokenNotFoundException},
+     * {@link TokenExpiredException} or {@link TokenIncorrectPasswordException}
+     * error if it could not be loaded
+     */
+    public LateScheduler<String> loadAsync(final UUID tokenID, final String password) {
+        return async(() -> load(tokenID, password));
+    }
+
+    /**
+     * Store multiple tokens asynchronously, the tokens
+     * are encrypted in parallel and written to the storage
+     * in a single pass
+     *
+     * @param tokens the tokens and their expiration
+     *               date (null for no expiration)
+     * @param password the tokens password
+     * @return the tokens and their ID
+     */
+    public LateScheduler<Map<String, UUID>> storeAllAsync(final Map<String, Instant> tokens, final String password) {
+        List<Map.Entry<String, Instant>> entries = new ArrayList<>(tokens.entrySet());
+        return late(parallel(entries, chunk -> {
+            Map<String, TokenRecord> records = new LinkedHashMap<>();
+            for (Map.Entry<String, Instant> entry : chunk) {
+                byte[] raw = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                try {
+                    records.put(entry.getKey(), encrypt(UUID.nameUUIDFromBytes(raw), raw, password, entry.getValue()));
+                } catch (Throwable ex) {
+                    ex.printStackTrace();
+                }
+            }
+            return records;
+        }).thenApply(records -> {
+            TokenStore.of(this.source).putAll(records.values());
+
+            Map<String, UUID> ids = new LinkedHashMap<>();
+            for (Map.Entry<String, TokenRecord> entry : records.entrySet())
+                ids.put(entry.getKey(), entry.getValue().getId());
+            return ids;
+        }));
+    }
+
+    /**
+     * Load multiple tokens asynchronously, the tokens
+     * are decrypted in parallel
+     *
+     * @param tokenIDs the tokens ID
+     * @param password the tokens password
+     * @return the tokens ID and their token
+     */
+    public LateScheduler<Map<UUID, String>> loadAllAsync(final Collection<UUID> tokenIDs, final String password) {
+        return late(parallel(new ArrayList<>(tokenIDs), chunk -> loadAll(chunk, password)));
     }
 
     /**
@@ -153,11 +310,120 @@ public final class TokenStorage {
      * @return the token expiration date
      */
     public Instant expiration(final UUID tokenID) {
-        KarmaFile tokenFile = new KarmaFile(this.source, tokenID.toString().replace("-", ""), "cache", "tokens");
-        String instant = tokenFile.getString("EXPIRATION", "N/A");
-        if (!instant.equalsIgnoreCase("N/A"))
-            return Instant.parse(instant);
+        TokenRecord record = TokenStore.of(this.source).get(tokenID);
+        if (record != null && record.getExpiration() != -1L)
+            return Instant.ofEpochMilli(record.getExpiration());
 
         return null;
     }
+
+    /**
+     * Run a task in the token executor
+     *
+     * @param task the task
+     * @param <A> the task result type
+     * @return the task result scheduler
+     */
+    private static <A> LateScheduler<A> async(final TokenTask<A> task) {
+        LateScheduler<A> result = new AsyncLateScheduler<>(io);
+        io.execute(() -> {
+            try {
+                result.complete(task.run());
+            } catch (Throwable ex) {
+                result.complete(null, ex);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Complete a late scheduler with the result of a future
+     *
+     * @param future the future
+     * @param <A> the future result type
+     * @return the future result scheduler
+     */
+    private static <A> LateScheduler<A> late(final CompletableFuture<A> future) {
+        LateScheduler<A> result = new AsyncLateScheduler<>(io);
+        future.whenComplete((value, error) -> result.complete(value, (error instanceof CompletionException && error.getCause() != null ? error.getCause() : error)));
+        return result;
+    }
+
+    /**
+     * Split the values in chunks and process them in
+     * parallel in the token executor
+     *
+     * @param values the values
+     * @param function the chunk function
+     * @param <A> the values type
+     * @param <B> the result key type
+     * @param <C> the result value type
+     * @return the merged chunk results
+     */
+    private static <A, B, C> CompletableFuture<Map<B, C>> parallel(final List<A> values, final Function<List<A>, Map<B, C>> function) {
+        if (values.isEmpty())
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+
+        int size = (values.size() + WORKERS - 1) / WORKERS;
+        List<CompletableFuture<Map<B, C>>> chunks = new ArrayList<>();
+        for (int start = 0; start < values.size(); start += size) {
+            List<A> chunk = values.subList(start, Math.min(values.size(), start + size));
+            chunks.add(CompletableFuture.supplyAsync(() -> function.apply(chunk), io));
+        }
+
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            Map<B, C> merged = new LinkedHashMap<>();
+            for (CompletableFuture<Map<B, C>> chunk : chunks)
+                merged.putAll(chunk.join());
+            return merged;
+        });
+    }
+
+    /**
+     * Encrypt a token into a token record
+     *
+     * @param tokenID the token ID
+     * @param raw the token
+     * @param password the token password
+     * @param expiration the token expiration date (null for no expiration)
+     * @return the token record
+     * @throws Exception if the token could not be encrypted
+     */
+    private static TokenRecord encrypt(final UUID tokenID, final byte[] raw, final String password, final Instant expiration) throws Exception {
+        PBECryptoAPI api = new PBECryptoAPI(password, raw);
+        byte[] salt = api.generateSALT();
+        return new TokenRecord(tokenID,
+                Base64.getUrlEncoder().encodeToString(salt),
+                Base64.getUrlEncoder().encodeToString(api.encrypt(salt)),
+                (expiration != null ? expiration.toEpochMilli() : -1L));
+    }
+
+    /**
+     * Decrypt a token record
+     *
+     * @param record the token record
+     * @param password the token password
+     * @return the decrypted token
+     * @throws Exception if the password is not correct
+     */
+    private static byte[] decrypt(final TokenRecord record, final String password) throws Exception {
+        PBECryptoAPI api = new PBECryptoAPI(password, Base64.getUrlDecoder().decode(record.getToken()));
+        return api.decrypt(Base64.getUrlDecoder().decode(record.getSalt()));
+    }
+
+    /**
+     * Token storage task
+     *
+     * @param <A> the task result type
+     */
+    private interface TokenTask<A> {
+
+        /**
+         * Run the task
+         *
+         * @return the task result
+         * @throws Exception if the task fails
+         */
+        A run() throws Exception;
+    }
 }
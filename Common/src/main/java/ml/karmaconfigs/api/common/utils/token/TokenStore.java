@@ -0,0 +1,462 @@
+package ml.karmaconfigs.api.common.utils.token;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import ml.karmaconfigs.api.common.karma.KarmaSource;
+import ml.karmaconfigs.api.common.karmafile.KarmaFile;
+import ml.karmaconfigs.api.common.utils.string.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.io.File;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Karma token store. Keeps all the tokens of a source in a
+ * single append only file, indexed in memory by token ID. Expired
+ * tokens are removed and the file is compacted in the background
+ */
+final class TokenStore {
+
+    /**
+     * The store file header
+     */
+    private final static String HEADER = "KarmaTokens 1";
+
+    /**
+     * The minimum amount of dead records before
+     * compacting the store
+     */
+    private final static int COMPACT_THRESHOLD = 1024;
+
+    /**
+     * The maximum amount of expired tokens removed
+     * at once
+     */
+    private final static int SWEEP_BATCH = 512;
+
+    /**
+     * The delay after which coalesced writes are
+     * written to the store file
+     */
+    private final static long FLUSH_DELAY = 50L;
+
+    /**
+     * The interval at which expired tokens are removed
+     * and the stores are compacted
+     */
+    private final static long SWEEP_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * A map containing source data path => token store
+     */
+    private final static Map<Path, TokenStore> stores = new ConcurrentHashMap<>();
+
+    /**
+     * The expired tokens sweeper, store compactor
+     * and coalesced writes flusher
+     */
+    private final static ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "KarmaAPI-TokenSweeper");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    static {
+        sweeper.scheduleWithFixedDelay(() -> {
+            long now = System.currentTimeMillis();
+            for (TokenStore store : stores.values()) {
+                store.sweep(now);
+                store.compactIfNeeded();
+            }
+        }, SWEEP_INTERVAL, SWEEP_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The store source
+     */
+    private final KarmaSource source;
+
+    /**
+     * The store file
+     */
+    private final Path file;
+
+    /**
+     * The token ID => record index
+     */
+    private final Map<UUID, TokenRecord> records = new ConcurrentHashMap<>();
+
+    /**
+     * The expiring records, soonest first. May contain
+     * records that have been replaced or removed
+     */
+    private final PriorityQueue<TokenRecord> expirations = new PriorityQueue<>(Comparator.comparingLong(TokenRecord::getExpiration));
+
+    /**
+     * The store file writer, null while closed
+     */
+    private BufferedWriter writer = null;
+
+    /**
+     * The amount of dead records in the store file
+     */
+    private int dead = 0;
+
+    /**
+     * The scheduled coalesced writes flush, null
+     * if there's no flush scheduled
+     */
+    private CompletableFuture<Void> scheduledFlush = null;
+
+    /**
+     * Initialize the token store
+     *
+     * @param owner the store source
+     * @param storeFile the store file
+     */
+    private TokenStore(final KarmaSource owner, final Path storeFile) {
+        this.source = owner;
+        this.file = storeFile;
+        read();
+        migrate();
+    }
+
+    /**
+     * Get the token store of a source
+     *
+     * @param source the source
+     * @return the source token store
+     */
+    static TokenStore of(final KarmaSource source) {
+        Path data = source.getDataPath();
+        return stores.computeIfAbsent(data, path -> new TokenStore(source, path.resolve("cache").resolve("tokens.db")));
+    }
+
+    /**
+     * Get a token record
+     *
+     * @param id the token ID
+     * @return the token record or null if there's
+     * no token with that ID
+     */
+    TokenRecord get(final UUID id) {
+        return this.records.get(id);
+    }
+
+    /**
+     * Store a token record
+     *
+     * @param record the token record
+     */
+    synchronized void put(final TokenRecord record) {
+        index(record);
+        append(encode(record));
+        flush();
+    }
+
+    /**
+     * Store a token record, writing it to the store file
+     * together with the rest of records stored shortly after
+     *
+     * @param record the token record
+     * @return when the record has been written to the store file
+     */
+    synchronized CompletableFuture<Void> putLater(final TokenRecord record) {
+        index(record);
+        append(encode(record));
+        if (this.scheduledFlush == null) {
+            CompletableFuture<Void> scheduled = new CompletableFuture<>();
+            this.scheduledFlush = scheduled;
+            sweeper.schedule(() -> {
+                synchronized (this) {
+                    this.scheduledFlush = null;
+                    flush();
+                }
+                scheduled.complete(null);
+            }, FLUSH_DELAY, TimeUnit.MILLISECONDS);
+        }
+        return this.scheduledFlush;
+    }
+
+    /**
+     * Store multiple token records at once
+     *
+     * @param records the token records
+     */
+    synchronized void putAll(final Collection<TokenRecord> records) {
+        for (TokenRecord record : records) {
+            index(record);
+            append(encode(record));
+        }
+        flush();
+    }
+
+    /**
+     * Remove a token record
+     *
+     * @param id the token ID
+     * @return if the token existed
+     */
+    synchronized boolean remove(final UUID id) {
+        if (this.records.remove(id) == null)
+            return false;
+
+        this.dead += 2;
+        append("D " + id);
+        flush();
+        return true;
+    }
+
+    /**
+     * Remove the expired tokens
+     *
+     * @param now the current epoch millis
+     */
+    void sweep(final long now) {
+        boolean pending = true;
+        while (pending) {
+            synchronized (this) {
+                int removed = 0;
+                TokenRecord next;
+                while (removed < SWEEP_BATCH && (next = this.expirations.peek()) != null && next.isExpired(now)) {
+                    this.expirations.poll();
+                    if (this.records.remove(next.getId(), next)) {
+                        this.dead += 2;
+                        append("D " + next.getId());
+                        removed++;
+                    }
+                }
+
+                flush();
+                next = this.expirations.peek();
+                pending = removed == SWEEP_BATCH && next != null && next.isExpired(now);
+            }
+        }
+    }
+
+    /**
+     * Compact the store if it has too many dead records
+     */
+    synchronized void compactIfNeeded() {
+        if (this.dead > COMPACT_THRESHOLD && this.dead > this.records.size())
+            compact();
+    }
+
+    /**
+     * Rewrite the store file with only the live records
+     */
+    synchronized void compact() {
+        Path temp = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+        try {
+            close();
+            try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                out.write(HEADER);
+                out.newLine();
+                for (TokenRecord record : this.records.values()) {
+                    out.write(encode(record));
+                    out.newLine();
+                }
+            }
+
+            Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            this.dead = 0;
+
+            this.expirations.clear();
+            for (TokenRecord record : this.records.values()) {
+                if (record.getExpiration() != -1L)
+                    this.expirations.add(record);
+            }
+        } catch (Throwable ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Read the store file into the index
+     */
+    private void read() {
+        if (!Files.exists(this.file))
+            return;
+
+        try (BufferedReader reader = Files.newBufferedReader(this.file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] data = line.split(" ");
+                try {
+                    if (data.length == 5 && data[0].equals("S")) {
+                        UUID id = UUID.fromString(data[1]);
+                        index(new TokenRecord(id, data[2], data[3], Long.parseLong(data[4])));
+                    } else if (data.length == 2 && data[0].equals("D")) {
+                        this.records.remove(UUID.fromString(data[1]));
+                        this.dead += 2;
+                    }
+                } catch (IllegalArgumentException ignored) {
+                }
+            }
+        } catch (Throwable ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Add a record to the index
+     *
+     * @param record the token record
+     */
+    private void index(final TokenRecord record) {
+        if (this.records.put(record.getId(), record) != null)
+            this.dead++;
+        if (record.getExpiration() != -1L)
+            this.expirations.add(record);
+    }
+
+    /**
+     * Append an entry to the store file. The entry
+     * is buffered until {@link #flush()}
+     *
+     * @param entry the entry
+     */
+    private void append(final String entry) {
+        try {
+            if (this.writer == null) {
+                Files.createDirectories(this.file.getParent());
+                boolean created = !Files.exists(this.file);
+                this.writer = Files.newBufferedWriter(this.file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                if (created) {
+                    this.writer.write(HEADER);
+                    this.writer.newLine();
+                }
+            }
+
+            this.writer.write(entry);
+            this.writer.newLine();
+        } catch (Throwable ex) {
+            ex.printStackTrace();
+            close();
+        }
+    }
+
+    /**
+     * Write the appended entries to the store file
+     */
+    private void flush() {
+        if (this.writer != null) {
+            try {
+                this.writer.flush();
+            } catch (Throwable ex) {
+                ex.printStackTrace();
+                close();
+            }
+        }
+    }
+
+    /**
+     * Close the store file writer
+     */
+    private void close() {
+        if (this.writer != null) {
+            try {
+                this.writer.close();
+            } catch (IOException ignored) {
+            }
+            this.writer = null;
+        }
+    }
+
+    /**
+     * Import the tokens stored in the legacy one file
+     * per token format, removing their files
+     */
+    private synchronized void migrate() {
+        File directory = this.file.resolveSibling("tokens").toFile();
+        File[] files = directory.listFiles();
+        if (files == null)
+            return;
+
+        for (File legacy : files) {
+            String name = legacy.getName();
+            UUID id;
+            try {
+                if (name.length() != 32)
+                    continue;
+                id = new UUID(Long.parseUnsignedLong(name.substring(0, 16), 16), Long.parseUnsignedLong(name.substring(16), 16));
+            } catch (NumberFormatException ex) {
+                continue;
+            }
+
+            KarmaFile tokenFile = new KarmaFile(legacy);
+            String salt = tokenFile.getString("SALT", "");
+            String token = tokenFile.getString("TOKEN", "");
+            if (!StringUtils.isNullOrEmpty(salt) && !StringUtils.isNullOrEmpty(token) && !this.records.containsKey(id)) {
+                String instant = tokenFile.getString("EXPIRATION", "N/A");
+                long expiration = -1L;
+                if (!instant.equalsIgnoreCase("N/A")) {
+                    try {
+                        expiration = Instant.parse(instant).toEpochMilli();
+                    } catch (Throwable ignored) {
+                    }
+                }
+
+                TokenRecord record = new TokenRecord(id, salt, token, expiration);
+                index(record);
+                append(encode(record));
+            }
+
+            flush();
+            tokenFile.delete();
+        }
+
+        directory.delete();
+    }
+
+    /**
+     * Encode a token record as a store entry
+     *
+     * @param record the token record
+     * @return the store entry
+     */
+    private static String encode(final TokenRecord record) {
+        return "S " + record.getId() + " " + record.getSalt() + " " + record.getToken() + " " + record.getExpiration();
+    }
+}
@@ -28,15 +28,117 @@ package ml.karmaconfigs.api.common.utils.token.other;
 import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
 import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.PBEParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
- * Initialize the crypto API
+ * Initialize the crypto API. Data is encrypted with AES-GCM
+ * using a PBKDF2 derived key, inside a versioned envelope. Data
+ * encrypted with the legacy PBEWithMD5AndDES scheme can still
+ * be decrypted
  */
 public class PBECryptoAPI {
 
+    /**
+     * The AES-GCM envelope version
+     */
+    private final static byte VERSION_AES = 2;
+
+    /**
+     * The AES-GCM IV length
+     */
+    private final static int IV_LENGTH = 12;
+
+    /**
+     * The AES-GCM tag length, in bits
+     */
+    private final static int TAG_LENGTH = 128;
+
+    /**
+     * The AES-GCM envelope header length, version,
+     * iterations and IV
+     */
+    private final static int HEADER_LENGTH = 1 + 4 + IV_LENGTH;
+
+    /**
+     * The PBKDF2 iterations used to encrypt, stored in the
+     * envelope so it can be raised without breaking old data
+     */
+    private final static int ITERATIONS = 20000;
+
+    /**
+     * The highest PBKDF2 iterations accepted when decrypting, the
+     * iterations are read before the data is authenticated
+     */
+    private final static int MAX_ITERATIONS = ITERATIONS * 10;
+
+    /**
+     * The AES key length, in bits
+     */
+    private final static int KEY_LENGTH = 256;
+
+    /**
+     * The maximum amount of cached derived keys
+     */
+    private final static int KEY_CACHE_SIZE = 1024;
+
+    /**
+     * The secure random instance
+     */
+    private final static SecureRandom random = new SecureRandom();
+
+    /**
+     * The derived keys cache, password hash and salt => key
+     */
+    private final static Map<String, SecretKey> keys = Collections.synchronizedMap(new LinkedHashMap<String, SecretKey>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, SecretKey> eldest) {
+            return size() > KEY_CACHE_SIZE;
+        }
+    });
+
+    /**
+     * The thread AES-GCM ciphers
+     */
+    private final static ThreadLocal<Cipher> aesCipher = ThreadLocal.withInitial(() -> instance("AES/GCM/NoPadding"));
+
+    /**
+     * The thread PBKDF2 key factories
+     */
+    private final static ThreadLocal<SecretKeyFactory> aesFactory = ThreadLocal.withInitial(() -> factory("PBKDF2WithHmacSHA256"));
+
+    /**
+     * The thread legacy ciphers
+     */
+    private final static ThreadLocal<Cipher> legacyCipher = ThreadLocal.withInitial(() -> instance("PBEWithMD5AndDES"));
+
+    /**
+     * The thread legacy key factories
+     */
+    private final static ThreadLocal<SecretKeyFactory> legacyFactory = ThreadLocal.withInitial(() -> factory("PBEWithMD5AndDES"));
+
+    /**
+     * The thread password digests
+     */
+    private final static ThreadLocal<MessageDigest> digest = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Digest SHA-256 is not available", ex);
+        }
+    });
+
     /**
      * The crypt password
      */
@@ -64,11 +166,8 @@ public class PBECryptoAPI {
      * @return a sal token
      */
     public final byte[] generateSALT() {
-        SecureRandom r = new SecureRandom();
-        byte[] newSeed = r.generateSeed(8);
-        r.setSeed(newSeed);
-        byte[] saltValue = new byte[8];
-        r.nextBytes(saltValue);
+        byte[] saltValue = new byte[16];
+        random.nextBytes(saltValue);
         return saltValue;
     }
 
@@ -80,13 +179,17 @@ public class PBECryptoAPI {
      * @throws Exception if something goes wrong
      */
     public final byte[] encrypt(final byte[] salt) throws Exception {
-        SecretKeyFactory keyFactory = SecretKeyFactory.getInstance("PBEWithMD5AndDES");
-        PBEParameterSpec pbeParamSpec = new PBEParameterSpec(salt, 20);
-        PBEKeySpec pbeKeySpec = new PBEKeySpec(this.password.toCharArray());
-        SecretKey key = keyFactory.generateSecret(pbeKeySpec);
-        Cipher pbeCipher = Cipher.getInstance("PBEWithMD5AndDES");
-        pbeCipher.init(1, key, pbeParamSpec);
-        return pbeCipher.doFinal(this.content);
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+
+        ByteBuffer envelope = ByteBuffer.allocate(HEADER_LENGTH + this.content.length + TAG_LENGTH / 8);
+        envelope.put(VERSION_AES).putInt(ITERATIONS).put(iv);
+
+        Cipher cipher = aesCipher.get();
+        cipher.init(Cipher.ENCRYPT_MODE, aesKey(salt, ITERATIONS), new GCMParameterSpec(TAG_LENGTH, iv));
+        cipher.updateAAD(envelope.array(), 0, 5);
+        cipher.doFinal(ByteBuffer.wrap(this.content), envelope);
+        return envelope.array();
     }
 
     /**
@@ -97,12 +200,103 @@ public class PBECryptoAPI {
      * @throws Exception if something goes wrong
      */
     public final byte[] decrypt(final byte[] salt) throws Exception {
-        SecretKeyFactory keyFactory = SecretKeyFactory.getInstance("PBEWithMD5AndDES");
-        PBEParameterSpec pbeParamSpec = new PBEParameterSpec(salt, 20);
-        PBEKeySpec pbeKeySpec = new PBEKeySpec(this.password.toCharArray());
-        SecretKey key = keyFactory.generateSecret(pbeKeySpec);
-        Cipher pbeCipher = Cipher.getInstance("PBEWithMD5AndDES");
-        pbeCipher.init(2, key, pbeParamSpec);
-        return pbeCipher.doFinal(this.content);
+        if (salt.length == 8) {
+            Cipher cipher = legacyCipher.get();
+            cipher.init(Cipher.DECRYPT_MODE, legacyKey(), new PBEParameterSpec(salt, 20));
+            return cipher.doFinal(this.content);
+        }
+
+        if (this.content.length < HEADER_LENGTH + TAG_LENGTH / 8 || this.content[0] != VERSION_AES)
+            throw new GeneralSecurityException("Unknown encrypted data format");
+
+        int iterations = ByteBuffer.wrap(this.content, 1, 4).getInt();
+        if (iterations <= 0 || iterations > MAX_ITERATIONS)
+            throw new GeneralSecurityException("Invalid key derivation iterations: " + iterations);
+
+        Cipher cipher = aesCipher.get();
+        cipher.init(Cipher.DECRYPT_MODE, aesKey(salt, iterations), new GCMParameterSpec(TAG_LENGTH, this.content, 5, IV_LENGTH));
+        cipher.updateAAD(this.content, 0, 5);
+        return cipher.doFinal(this.content, HEADER_LENGTH, this.content.length - HEADER_LENGTH);
+    }
+
+    /**
+     * Get the AES key for the salt, derived keys
+     * are cached by password hash and salt
+     *
+     * @param salt the salt
+     * @param iterations the PBKDF2 iterations
+     * @return the AES key
+     * @throws GeneralSecurityException if the key could not be derived
+     */
+    private SecretKey aesKey(final byte[] salt, final int iterations) throws GeneralSecurityException {
+        String id = hash() + ":" + Base64.getEncoder().encodeToString(salt) + ":" + iterations;
+        SecretKey key = keys.get(id);
+        if (key == null) {
+            PBEKeySpec spec = new PBEKeySpec(this.password.toCharArray(), salt, iterations, KEY_LENGTH);
+            try {
+                key = new SecretKeySpec(aesFactory.get().generateSecret(spec).getEncoded(), "AES");
+            } finally {
+                spec.clearPassword();
+            }
+            keys.put(id, key);
+        }
+
+        return key;
+    }
+
+    /**
+     * Get the legacy key, derived keys are cached
+     * by password hash
+     *
+     * @return the legacy key
+     * @throws GeneralSecurityException if the key could not be derived
+     */
+    private SecretKey legacyKey() throws GeneralSecurityException {
+        String id = hash();
+        SecretKey key = keys.get(id);
+        if (key == null) {
+            key = legacyFactory.get().generateSecret(new PBEKeySpec(this.password.toCharArray()));
+            keys.put(id, key);
+        }
+
+        return key;
+    }
+
+    /**
+     * Get the password hash, used to cache the derived
+     * keys without keeping the password
+     *
+     * @return the password hash
+     */
+    private String hash() {
+        return Base64.getEncoder().encodeToString(digest.get().digest(this.password.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Get a cipher instance
+     *
+     * @param algorithm the cipher algorithm
+     * @return the cipher
+     */
+    private static Cipher instance(final String algorithm) {
+        try {
+            return Cipher.getInstance(algorithm);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Cipher " + algorithm + " is not available", ex);
+        }
+    }
+
+    /**
+     * Get a key factory instance
+     *
+     * @param algorithm the key algorithm
+     * @return the key factory
+     */
+    private static SecretKeyFactory factory(final String algorithm) {
+        try {
+            return SecretKeyFactory.getInstance(algorithm);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Key factory " + algorithm + " is not available", ex);
+        }
     }
 }
@@ -25,30 +25,22 @@ package ml.karmaconfigs.api.common.version;
  *  SOFTWARE.
  */
 
-import ml.karmaconfigs.api.common.karma.APISource;
 import ml.karmaconfigs.api.common.karma.KarmaSource;
 import ml.karmaconfigs.api.common.timer.scheduler.LateScheduler;
 import ml.karmaconfigs.api.common.timer.scheduler.worker.AsyncLateScheduler;
 import ml.karmaconfigs.api.common.utils.URLUtils;
 import ml.karmaconfigs.api.common.utils.string.ComparatorBuilder;
 import ml.karmaconfigs.api.common.utils.string.StringUtils;
-import ml.karmaconfigs.api.common.utils.file.FileUtilities;
 import ml.karmaconfigs.api.common.utils.string.VersionComparator;
 import ml.karmaconfigs.api.common.version.util.VersionCheckType;
 import ml.karmaconfigs.api.common.version.util.VersionResolver;
 
-import java.io.File;
-import java.io.InputStream;
 import java.net.URL;
-import java.net.URLConnection;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Consumer;
+import java.util.concurrent.Executor;
 
 /**
  * Karma legacy version updater
@@ -60,6 +52,11 @@ public final class LegacyVersionUpdater extends VersionUpdater {
      */
     private static final Map<KarmaSource, VersionFetchResult> results = new ConcurrentHashMap<>();
 
+    /**
+     * A map containing source => running version fetch
+     */
+    private static final Map<KarmaSource, LateScheduler<VersionFetchResult>> fetching = new ConcurrentHashMap<>();
+
     /**
      * The updater source
      */
@@ -97,68 +94,74 @@ public final class LegacyVersionUpdater extends VersionUpdater {
 
 
     /**
-     * Fetch for updates
+     * Fetch for updates, concurrent fetches for the
+     * same source share a single request
      *
      * @param force force the update instead
      *              of returning the cached result
+     * @param executor the executor running the request
      * @return the fetch result
      */
-    public LateScheduler<VersionFetchResult> fetch(final boolean force) {
+    @Override
+    LateScheduler<VersionFetchResult> fetch(final boolean force, final Executor executor) {
+        if (!force) {
+            VersionFetchResult cached = results.get(this.source);
+            if (cached != null) {
+                AsyncLateScheduler<VersionFetchResult> asyncLateScheduler = new AsyncLateScheduler<>();
+                asyncLateScheduler.complete(cached);
+                return asyncLateScheduler;
+            }
+        }
+
         AsyncLateScheduler<VersionFetchResult> asyncLateScheduler = new AsyncLateScheduler<>();
-        if (force || !results.containsKey(this.source) || results.getOrDefault(this.source, null) == null) {
-            APISource.asyncScheduler().queue(() -> {
-                try {
-                    boolean updated;
-                    URLConnection connection = this.checkURL.openConnection();
-                    InputStream file = connection.getInputStream();
-                    Path temp = Files.createTempFile("kfetcher_", StringUtils.generateString().create());
-                    File tempFile = FileUtilities.getFixedFile(temp.toFile());
-                    tempFile.deleteOnExit();
-                    if (!tempFile.exists())
-                        Files.createFile(temp);
-                    Files.copy(file, temp, StandardCopyOption.REPLACE_EXISTING);
-                    List<String> lines = Files.readAllLines(tempFile.toPath());
-                    String version = lines.get(0);
-                    String update = lines.get(1);
-                    List<String> changelog = new ArrayList<>();
-                    for (int i = 2; i < lines.size(); i++)
-                        changelog.add(lines.get(i));
-
-                    ComparatorBuilder builder;
-                    VersionComparator comparator;
-                    switch (this.versionType) {
-                        case ID:
-                            updated = this.source.version().equals(version);
-                            break;
-                        case RESOLVABLE_ID:
-                            builder = VersionComparator.createBuilder()
-                                    .currentVersion(versionResolver.resolve(source.version()))
-                                    .checkVersion(versionResolver.resolve(version));
-                            comparator = StringUtils.compareTo(builder);
-
-                            updated = comparator.isUpToDate();
-                            break;
-                        default:
-                            builder = VersionComparator.createBuilder()
-                                    .currentVersion(source.version())
-                                    .checkVersion(version);
-                            comparator = StringUtils.compareTo(builder);
-
-                            updated = comparator.isUpToDate();
-                            break;
-                    }
-                    VersionFetchResult result = new VersionFetchResult(updated, version, this.source.version(), update, changelog.<String>toArray(new String[0]), this.versionResolver);
-                    results.put(this.source, result);
-                    asyncLateScheduler.complete(result);
-                } catch (Throwable ex) {
-                    ex.printStackTrace();
-                    asyncLateScheduler.complete(null, ex);
+        LateScheduler<VersionFetchResult> running = fetching.putIfAbsent(this.source, asyncLateScheduler);
+        if (running != null)
+            return running.thenApply(result -> result);
+
+        executor.execute(() -> {
+            try {
+                byte[] data = UpdateFetcher.download(this.source, this.checkURL);
+                String[] lines = new String(data, StandardCharsets.UTF_8).split("\\r?\\n");
+                String version = lines[0];
+                String update = lines[1];
+                String[] changelog = Arrays.copyOfRange(lines, 2, lines.length);
+
+                boolean updated;
+                ComparatorBuilder builder;
+                VersionComparator comparator;
+                switch (this.versionType) {
+                    case ID:
+                        updated = this.source.version().equals(version);
+                        break;
+                    case RESOLVABLE_ID:
+                        builder = VersionComparator.createBuilder()
+                                .currentVersion(versionResolver.resolve(source.version()))
+                                .checkVersion(versionResolver.resolve(version));
+                        comparator = StringUtils.compareTo(builder);
+
+                        updated = comparator.isUpToDate();
+                        break;
+                    default:
+                        builder = VersionComparator.createBuilder()
+                                .currentVersion(source.version())
+                                .checkVersion(version);
+                        comparator = StringUtils.compareTo(builder);
+
+                        updated = comparator.isUpToDate();
+                        break;
                 }
-            });
-        } else {
-            asyncLateScheduler.complete(results.get(this.source));
-        }
-        return asyncLateScheduler;
+                VersionFetchResult result = new VersionFetchResult(updated, version, this.source.version(), update, changelog, this.versionResolver);
+                results.put(this.source, result);
+                fetching.remove(this.source, asyncLateScheduler);
+                asyncLateScheduler.complete(result);
+            } catch (Throwable ex) {
+                ex.printStackTrace();
+                fetching.remove(this.source, asyncLateScheduler);
+                asyncLateScheduler.complete(null, ex);
+            }
+        });
+
+        return asyncLateScheduler.thenApply(result -> result);
     }
 
     /**
@@ -167,16 +170,7 @@ public final class LegacyVersionUpdater extends VersionUpdater {
      * @return the last update fetch result
      */
     public LateScheduler<VersionFetchResult> get() {
-        AsyncLateScheduler<VersionFetchResult> asyncLateScheduler = new AsyncLateScheduler<>();
-        APISource.asyncScheduler().queue(() -> {
-            VersionFetchResult result = results.getOrDefault(this.source, null);
-            if (result == null) {
-                fetch(true).whenComplete((Consumer<VersionFetchResult>) asyncLateScheduler::complete);
-            } else {
-                asyncLateScheduler.complete(result);
-            }
-        });
-        return asyncLateScheduler;
+        return fetch(false);
     }
 
     /**
@@ -0,0 +1,256 @@
+package ml.karmaconfigs.api.common.version;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import ml.karmaconfigs.api.common.karma.KarmaSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Karma version updater fetcher. Downloads the update file
+ * into memory, and sends the last ETag and Last-Modified so
+ * unchanged files are not downloaded again
+ */
+final class UpdateFetcher {
+
+    /**
+     * The update cache file header
+     */
+    private final static String HEADER = "KarmaUpdate 1";
+
+    /**
+     * The connection timeout
+     */
+    private final static int TIMEOUT = (int) TimeUnit.SECONDS.toMillis(10);
+
+    /**
+     * The maximum update file size
+     */
+    private final static int MAX_SIZE = 1024 * 1024;
+
+    /**
+     * A map containing source => last update file
+     */
+    private final static Map<KarmaSource, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Download the update file, returning the last
+     * downloaded file if it has not changed
+     *
+     * @param source the updater source
+     * @param url the update file URL
+     * @return the update file contents
+     * @throws IOException if the file could not be downloaded
+     */
+    static byte[] download(final KarmaSource source, final URL url) throws IOException {
+        String location = url.toString();
+        Entry cached = entries.get(source);
+        if (cached == null || !cached.url.equals(location)) {
+            cached = read(source, location);
+            if (cached != null)
+                entries.put(source, cached);
+        }
+
+        URLConnection connection = url.openConnection();
+        connection.setConnectTimeout(TIMEOUT);
+        connection.setReadTimeout(TIMEOUT);
+        if (!(connection instanceof HttpURLConnection)) {
+            try (InputStream stream = connection.getInputStream()) {
+                return readAll(stream);
+            }
+        }
+
+        HttpURLConnection http = (HttpURLConnection) connection;
+        http.setUseCaches(false);
+        if (cached != null) {
+            if (!cached.tag.isEmpty())
+                http.setRequestProperty("If-None-Match", cached.tag);
+            if (!cached.modified.isEmpty())
+                http.setRequestProperty("If-Modified-Since", cached.modified);
+        }
+
+        int code = http.getResponseCode();
+        if (code == HttpURLConnection.HTTP_NOT_MODIFIED && cached != null)
+            return cached.data;
+        if (code != HttpURLConnection.HTTP_OK)
+            throw new IOException("Update server responded with " + code + " for " + location);
+
+        byte[] data;
+        try (InputStream stream = http.getInputStream()) {
+            data = readAll(stream);
+        }
+
+        String tag = http.getHeaderField("ETag");
+        String modified = http.getHeaderField("Last-Modified");
+        if (tag != null || modified != null) {
+            Entry entry = new Entry(location, (tag != null ? tag : ""), (modified != null ? modified : ""), data);
+            entries.put(source, entry);
+            write(source, entry);
+        }
+
+        return data;
+    }
+
+    /**
+     * Read a stream into memory
+     *
+     * @param stream the stream
+     * @return the stream contents
+     * @throws IOException if the stream could not be read
+     */
+    private static byte[] readAll(final InputStream stream) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            if (out.size() > MAX_SIZE)
+                throw new IOException("Update file is larger than " + MAX_SIZE + " bytes");
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Get the update cache file of a source
+     *
+     * @param source the updater source
+     * @return the source update cache file
+     */
+    private static Path file(final KarmaSource source) {
+        return source.getDataPath().resolve("cache").resolve("update.cache");
+    }
+
+    /**
+     * Read the persisted update file of a source
+     *
+     * @param source the updater source
+     * @param location the update file URL
+     * @return the persisted update file, or null if
+     * there's no update file for the URL
+     */
+    private static Entry read(final KarmaSource source, final String location) {
+        Path file = file(source);
+        if (!Files.exists(file))
+            return null;
+
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            if (!HEADER.equals(in.readUTF()) || !location.equals(in.readUTF()))
+                return null;
+
+            String tag = in.readUTF();
+            String modified = in.readUTF();
+            int length = in.readInt();
+            if (length < 0 || length > MAX_SIZE)
+                return null;
+
+            byte[] data = new byte[length];
+            in.readFully(data);
+            return new Entry(location, tag, modified, data);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Persist the update file of a source
+     *
+     * @param source the updater source
+     * @param entry the update file
+     */
+    private static void write(final KarmaSource source, final Entry entry) {
+        Path file = file(source);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+                out.writeUTF(HEADER);
+                out.writeUTF(entry.url);
+                out.writeUTF(entry.tag);
+                out.writeUTF(entry.modified);
+                out.writeInt(entry.data.length);
+                out.write(entry.data);
+            }
+
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Throwable ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Karma version updater last update file
+     */
+    private final static class Entry {
+
+        /**
+         * The update file URL
+         */
+        private final String url;
+
+        /**
+         * The update file ETag
+         */
+        private final String tag;
+
+        /**
+         * The update file last modification
+         */
+        private final String modified;
+
+        /**
+         * The update file contents
+         */
+        private final byte[] data;
+
+        /**
+         * Initialize the update file
+         *
+         * @param location the update file URL
+         * @param etag the update file ETag
+         * @param lastModified the update file last modification
+         * @param contents the update file contents
+         */
+        Entry(final String location, final String etag, final String lastModified, final byte[] contents) {
+            this.url = location;
+            this.tag = etag;
+            this.modified = lastModified;
+            this.data = contents;
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package ml.karmaconfigs.api.common.version;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import ml.karmaconfigs.api.common.karma.KarmaSource;
+import ml.karmaconfigs.api.common.version.util.UpdateListener;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Karma update service. Polls the registered version updaters
+ * on a shared schedule, so sources don't need their own timers
+ * and their checks are spread instead of all running at startup
+ */
+public final class UpdateService {
+
+    /**
+     * The amount of checks that can run at the same time
+     */
+    private final static int WORKERS = 2;
+
+    /**
+     * The maximum time to wait for a check
+     */
+    private final static long CHECK_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * The first retry delay after a failed check
+     */
+    private final static long RETRY_DELAY = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * The maximum delay before the first check
+     */
+    private final static long STARTUP_SPREAD = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * The update service worker number
+     */
+    private final static AtomicInteger worker = new AtomicInteger();
+
+    /**
+     * The update service workers, checks are run here so
+     * the connections to the update servers can be reused
+     */
+    private final static ScheduledExecutorService workers = Executors.newScheduledThreadPool(WORKERS, task -> {
+        Thread thread = new Thread(task, "KarmaAPI-UpdateService-" + worker.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * A map containing source => registration
+     */
+    private final static Map<KarmaSource, Registration> registrations = new ConcurrentHashMap<>();
+
+    /**
+     * The update service listeners
+     */
+    private final static Set<UpdateListener> listeners = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The time between checks
+     */
+    private static volatile long interval = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * Register a version updater, replacing the
+     * previous updater of the source
+     *
+     * @param source the updater source
+     * @param updater the version updater
+     */
+    public static void register(final KarmaSource source, final VersionUpdater updater) {
+        Registration registration = new Registration(source, updater);
+        Registration previous = registrations.put(source, registration);
+        if (previous != null) {
+            previous.cancel();
+            registration.last = previous.last;
+        }
+
+        registration.schedule(ThreadLocalRandom.current().nextLong(Math.min(STARTUP_SPREAD, interval) + 1));
+    }
+
+    /**
+     * Unregister the version updater of a source
+     *
+     * @param source the updater source
+     */
+    public static void unregister(final KarmaSource source) {
+        Registration registration = registrations.remove(source);
+        if (registration != null)
+            registration.cancel();
+    }
+
+    /**
+     * Get if a source has a registered version
+     * updater
+     *
+     * @param source the updater source
+     * @return if the source is registered
+     */
+    public static boolean isRegistered(final KarmaSource source) {
+        return registrations.containsKey(source);
+    }
+
+    /**
+     * Get the last result fetched by the service
+     *
+     * @param source the updater source
+     * @return the last fetch result, null if the
+     * source has not been checked yet
+     */
+    public static VersionFetchResult getResult(final KarmaSource source) {
+        Registration registration = registrations.get(source);
+        return (registration != null ? registration.last : null);
+    }
+
+    /**
+     * Set the time between checks, applied after
+     * the next check of each source
+     *
+     * @param time the time between checks
+     * @param unit the time unit
+     * @throws IllegalArgumentException if the time is not positive
+     */
+    public static void setInterval(final long time, final TimeUnit unit) throws IllegalArgumentException {
+        if (time <= 0L)
+            throw new IllegalArgumentException("Update check interval must be positive");
+
+        interval = unit.toMillis(time);
+    }
+
+    /**
+     * Add an update listener
+     *
+     * @param listener the listener to add
+     */
+    public static void addListener(final UpdateListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove an update listener
+     *
+     * @param listener the listener to remove
+     */
+    public static void removeListener(final UpdateListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Check a source now, instead of waiting for
+     * its next scheduled check
+     *
+     * @param source the updater source
+     */
+    public static void checkNow(final KarmaSource source) {
+        Registration registration = registrations.get(source);
+        if (registration != null)
+            registration.schedule(0L);
+    }
+
+    /**
+     * Apply a random jitter of up to 10% to a delay
+     *
+     * @param delay the delay
+     * @return the jittered delay
+     */
+    private static long jitter(final long delay) {
+        long spread = delay / 10L;
+        if (spread <= 0L)
+            return delay;
+
+        return delay - spread + ThreadLocalRandom.current().nextLong(spread * 2L + 1L);
+    }
+
+    /**
+     * Get if a fetch result differs from the previous one
+     *
+     * @param previous the previous result
+     * @param current the new result
+     * @return if the result changed
+     */
+    private static boolean changed(final VersionFetchResult previous, final VersionFetchResult current) {
+        return previous == null
+                || previous.isUpdated() != current.isUpdated()
+                || !Objects.equals(previous.getLatest(), current.getLatest())
+                || !Objects.equals(previous.getUpdateURL(), current.getUpdateURL());
+    }
+
+    /**
+     * Karma update service registration
+     */
+    private final static class Registration {
+
+        /**
+         * The updater source
+         */
+        private final KarmaSource source;
+
+        /**
+         * The version updater
+         */
+        private final VersionUpdater updater;
+
+        /**
+         * The amount of consecutive failed checks
+         */
+        private volatile int failures = 0;
+
+        /**
+         * The last fetch result
+         */
+        private volatile VersionFetchResult last = null;
+
+        /**
+         * If a check is running
+         */
+        private final AtomicBoolean checking = new AtomicBoolean(false);
+
+        /**
+         * The next check task
+         */
+        private ScheduledFuture<?> task = null;
+
+        /**
+         * If the registration has been cancelled
+         */
+        private boolean cancelled = false;
+
+        /**
+         * Initialize the registration
+         *
+         * @param owner the updater source
+         * @param versionUpdater the version updater
+         */
+        Registration(final KarmaSource owner, final VersionUpdater versionUpdater) {
+            this.source = owner;
+            this.updater = versionUpdater;
+        }
+
+        /**
+         * Schedule the next check
+         *
+         * @param delay the delay before the check
+         */
+        synchronized void schedule(final long delay) {
+            if (this.cancelled)
+                return;
+
+            if (this.task != null)
+                this.task.cancel(false);
+            this.task = workers.schedule(this::check, delay, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Cancel the registration checks
+         */
+        synchronized void cancel() {
+            this.cancelled = true;
+            if (this.task != null)
+                this.task.cancel(false);
+        }
+
+        /**
+         * Check for updates and schedule the next check. The
+         * request runs on the calling worker, and a check
+         * requested while another one is running is skipped
+         */
+        private void check() {
+            if (!this.checking.compareAndSet(false, true))
+                return;
+
+            try {
+                checkUpdates();
+            } finally {
+                this.checking.set(false);
+            }
+        }
+
+        /**
+         * Fetch the updater result and schedule the next check
+         */
+        private void checkUpdates() {
+            VersionFetchResult result;
+            try {
+                result = this.updater.fetch(true, Runnable::run).toCompletableFuture().get(CHECK_TIMEOUT, TimeUnit.MILLISECONDS);
+            } catch (Throwable ex) {
+                result = null;
+            }
+
+            long every = interval;
+            if (result == null) {
+                int attempt = Math.min(this.failures++, 20);
+                schedule(jitter(Math.min(every, RETRY_DELAY << attempt)));
+                return;
+            }
+
+            this.failures = 0;
+            VersionFetchResult previous = this.last;
+            this.last = result;
+            if (changed(previous, result)) {
+                for (UpdateListener listener : listeners) {
+                    try {
+                        listener.onChange(this.source, previous, result);
+                    } catch (Throwable ex) {
+                        ex.printStackTrace();
+                    }
+                }
+            }
+
+            schedule(jitter(every));
+        }
+    }
+}
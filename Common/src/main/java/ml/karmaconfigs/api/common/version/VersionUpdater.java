@@ -27,27 +27,23 @@ package ml.karmaconfigs.api.common.version;
 
 import ml.karmaconfigs.api.common.karma.APISource;
 import ml.karmaconfigs.api.common.karma.KarmaSource;
-import ml.karmaconfigs.api.common.karmafile.KarmaFile;
 import ml.karmaconfigs.api.common.timer.scheduler.LateScheduler;
+import ml.karmaconfigs.api.common.timer.scheduler.Priority;
 import ml.karmaconfigs.api.common.timer.scheduler.worker.AsyncLateScheduler;
 import ml.karmaconfigs.api.common.utils.URLUtils;
 import ml.karmaconfigs.api.common.utils.string.ComparatorBuilder;
 import ml.karmaconfigs.api.common.utils.string.StringUtils;
-import ml.karmaconfigs.api.common.utils.file.FileUtilities;
 import ml.karmaconfigs.api.common.utils.string.VersionComparator;
 import ml.karmaconfigs.api.common.version.util.VersionCheckType;
 import ml.karmaconfigs.api.common.version.util.VersionResolver;
 
-import java.io.File;
-import java.io.InputStream;
 import java.net.URL;
-import java.net.URLConnection;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Consumer;
+import java.util.concurrent.Executor;
 
 /**
  * Karma version updater
@@ -59,6 +55,11 @@ public abstract class VersionUpdater {
      */
     private static final Map<KarmaSource, VersionFetchResult> results = new ConcurrentHashMap<>();
 
+    /**
+     * A map containing source => running version fetch
+     */
+    private static final Map<KarmaSource, LateScheduler<VersionFetchResult>> fetching = new ConcurrentHashMap<>();
+
     /**
      * The updater source
      */
@@ -100,67 +101,109 @@ public abstract class VersionUpdater {
     }
 
     /**
-     * Fetch for updates
+     * Fetch for updates, concurrent fetches for the
+     * same source share a single request
+     *
+     * @param force force the update instead
+     *              of returning the cached result
+     * @return the fetch result
+     */
+    public LateScheduler<VersionFetchResult> fetch(final boolean force) {
+        return fetch(force, task -> APISource.asyncScheduler().queue(task, Priority.HIGH));
+    }
+
+    /**
+     * Fetch for updates, concurrent fetches for the
+     * same source share a single request
      *
      * @param force force the update instead
      *              of returning the cached result
+     * @param executor the executor running the request
      * @return the fetch result
      */
-    public LateScheduler<VersionFetchResult> fetch(boolean force) {
+    LateScheduler<VersionFetchResult> fetch(final boolean force, final Executor executor) {
+        if (!force) {
+            VersionFetchResult cached = results.get(this.source);
+            if (cached != null) {
+                AsyncLateScheduler<VersionFetchResult> asyncLateScheduler = new AsyncLateScheduler<>();
+                asyncLateScheduler.complete(cached);
+                return asyncLateScheduler;
+            }
+        }
+
         AsyncLateScheduler<VersionFetchResult> asyncLateScheduler = new AsyncLateScheduler<>();
+        LateScheduler<VersionFetchResult> running = fetching.putIfAbsent(this.source, asyncLateScheduler);
+        if (running != null)
+            return running.thenApply(result -> result);
 
-        if (force || !results.containsKey(this.source) || results.getOrDefault(this.source, null) == null) {
-            APISource.asyncScheduler().queue(() -> {
-                try {
-                    boolean updated;
-                    URLConnection connection = this.checkURL.openConnection();
-                    InputStream file = connection.getInputStream();
-                    Path temp = Files.createTempFile("kfetcher_", StringUtils.generateString().create());
-                    File tempFile = FileUtilities.getFixedFile(temp.toFile());
-                    tempFile.deleteOnExit();
-                    if (!tempFile.exists())
-                        Files.createFile(temp);
-                    Files.copy(file, temp, StandardCopyOption.REPLACE_EXISTING);
-                    KarmaFile kFile = new KarmaFile(tempFile);
-                    String version = kFile.getString("VERSION", this.source.version());
-                    String update = kFile.getString("UPDATE", "");
-                    String[] changelog = (String[]) kFile.getStringList("CHANGELOG", new String[0]).toArray((Object[]) new String[0]);
-
-                    ComparatorBuilder builder;
-                    VersionComparator comparator;
-                    switch (this.versionType) {
-                        case ID:
-                            updated = this.source.version().equals(version);
-                            break;
-                        case RESOLVABLE_ID:
-                            builder = VersionComparator.createBuilder()
-                                    .currentVersion(versionResolver.resolve(source.version()))
-                                    .checkVersion(versionResolver.resolve(version));
-                            comparator = StringUtils.compareTo(builder);
-
-                            updated = comparator.isUpToDate();
-                            break;
-                        default:
-                            builder = VersionComparator.createBuilder()
-                                    .currentVersion(source.version())
-                                    .checkVersion(version);
-                            comparator = StringUtils.compareTo(builder);
-
-                            updated = comparator.isUpToDate();
-                            break;
+        executor.execute(() -> {
+            try {
+                byte[] data = UpdateFetcher.download(this.source, this.checkURL);
+                String[] lines = new String(data, StandardCharsets.UTF_8).split("\\r?\\n");
+                String version = this.source.version();
+                String update = "";
+                List<String> changes = new ArrayList<>();
+                boolean listing = false;
+                for (String line : lines) {
+                    if (line.equals("[LIST=CHANGELOG]")) {
+                        listing = true;
+                        continue;
+                    }
+                    if (line.equals("[/LIST=CHANGELOG]")) {
+                        listing = false;
+                        continue;
+                    }
+
+                    if (listing) {
+                        if (!line.startsWith("/// ") && !line.endsWith(" -->"))
+                            changes.add(line);
+                    } else {
+                        String key = line.split(":")[0];
+                        if (key.equals("VERSION")) {
+                            version = line.replace("VERSION: ", "");
+                        } else if (key.equals("UPDATE")) {
+                            update = line.replace("UPDATE: ", "");
+                        }
                     }
-                    VersionFetchResult result = new VersionFetchResult(updated, version, this.source.version(), update, changelog, this.versionResolver);
-                    results.put(this.source, result);
-                    asyncLateScheduler.complete(result);
-                } catch (Throwable ex) {
-                    ex.printStackTrace();
-                    asyncLateScheduler.complete(null, ex);
                 }
-            });
-        } else {
-            asyncLateScheduler.complete(results.get(this.source));
-        }
-        return asyncLateScheduler;
+                String[] changelog = changes.toArray(new String[0]);
+
+                boolean updated;
+                ComparatorBuilder builder;
+                VersionComparator comparator;
+                switch (this.versionType) {
+                    case ID:
+                        updated = this.source.version().equals(version);
+                        break;
+                    case RESOLVABLE_ID:
+                        builder = VersionComparator.createBuilder()
+                                .currentVersion(versionResolver.resolve(source.version()))
+                                .checkVersion(versionResolver.resolve(version));
+                        comparator = StringUtils.compareTo(builder);
+
+                        updated = comparator.isUpToDate();
+                        break;
+                    default:
+                        builder = VersionComparator.createBuilder()
+                                .currentVersion(source.version())
+                                .checkVersion(version);
+                        comparator = StringUtils.compareTo(builder);
+
+                        updated = comparator.isUpToDate();
+                        break;
+                }
+                VersionFetchResult result = new VersionFetchResult(updated, version, this.source.version(), update, changelog, this.versionResolver);
+                results.put(this.source, result);
+                fetching.remove(this.source, asyncLateScheduler);
+                asyncLateScheduler.complete(result);
+            } catch (Throwable ex) {
+                ex.printStackTrace();
+                fetching.remove(this.source, asyncLateScheduler);
+                asyncLateScheduler.complete(null, ex);
+            }
+        });
+
+        return asyncLateScheduler.thenApply(result -> result);
     }
 
     /**
@@ -169,16 +212,7 @@ public abstract class VersionUpdater {
      * @return the last update fetch result
      */
     public LateScheduler<VersionFetchResult> get() {
-        AsyncLateScheduler<VersionFetchResult> asyncLateScheduler = new AsyncLateScheduler<>();
-        APISource.asyncScheduler().queue(() -> {
-            VersionFetchResult result = results.getOrDefault(this.source, null);
-            if (result == null) {
-                fetch(true).whenComplete((Consumer<VersionFetchResult>) asyncLateScheduler::complete);
-            } else {
-                asyncLateScheduler.complete(result);
-            }
-        });
-        return asyncLateScheduler;
+        return fetch(false);
     }
 
     /**
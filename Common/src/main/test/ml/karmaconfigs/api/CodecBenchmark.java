@@ -0,0 +1,206 @@
+package ml.karmaconfigs.api;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import ml.karmaconfigs.api.common.utils.codec.BinaryCodec;
+import ml.karmaconfigs.api.common.utils.codec.Codecs;
+import ml.karmaconfigs.api.common.utils.codec.JavaCodec;
+import ml.karmaconfigs.api.common.utils.codec.ObjectCodec;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Karma codec benchmark class, compares the binary
+ * codec with java serialization
+ */
+public final class CodecBenchmark {
+
+    /**
+     * The objects encoded and decoded per measurement
+     */
+    private final static int OPERATIONS = 50000;
+
+    /**
+     * The measurements run before the measured ones
+     */
+    private final static int WARMUP = 5;
+
+    /**
+     * A value the benchmark results are added to, so
+     * the measured code is not removed
+     */
+    private static long sink;
+
+    /**
+     * Main initializer
+     *
+     * @param args the launch arguments
+     * @throws Exception if the benchmark fails
+     */
+    public static void main(final String[] args) throws Exception {
+        Codecs.allow(Profile.class, Rank.class);
+
+        List<Profile> profiles = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+            profiles.add(new Profile(i));
+
+        for (ObjectCodec codec : new ObjectCodec[]{new BinaryCodec(), new JavaCodec()}) {
+            String name = codec.getClass().getSimpleName();
+            Object single = profiles.get(0);
+
+            byte[] encoded = codec.encode(single);
+            byte[] list = codec.encode(profiles);
+            System.out.println(name + ": " + encoded.length + " bytes per profile, " + list.length + " bytes per 10 profiles");
+
+            measure(name + " encode", () -> {
+                for (int i = 0; i < OPERATIONS; i++)
+                    sink += codec.encode(single).length;
+            });
+            measure(name + " decode", () -> {
+                for (int i = 0; i < OPERATIONS; i++)
+                    sink += codec.decode(encoded, 0, encoded.length, CodecBenchmark.class.getClassLoader(), Codecs::isAllowed).hashCode();
+            });
+        }
+
+        System.out.println("(" + sink + ")");
+        System.exit(0);
+    }
+
+    /**
+     * Measure a task
+     *
+     * @param name the task name
+     * @param task the task
+     * @throws Exception if the task fails
+     */
+    private static void measure(final String name, final BenchmarkTask task) throws Exception {
+        for (int i = 0; i < WARMUP; i++)
+            task.run();
+
+        long start = System.nanoTime();
+        task.run();
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%-30s %10.2f ms %14.0f ops/s%n", name, elapsed / 1e6, OPERATIONS / (elapsed / 1e9));
+    }
+
+    /**
+     * Karma benchmark task
+     */
+    private interface BenchmarkTask {
+
+        /**
+         * Run the task
+         *
+         * @throws Exception if the task fails
+         */
+        void run() throws Exception;
+    }
+
+    /**
+     * Benchmark profile rank
+     */
+    public enum Rank {
+        /**
+         * Member rank
+         */
+        MEMBER,
+        /**
+         * Staff rank
+         */
+        STAFF
+    }
+
+    /**
+     * Benchmark profile
+     */
+    public static final class Profile implements Serializable {
+
+        /**
+         * The profile ID
+         */
+        private UUID id;
+
+        /**
+         * The profile name
+         */
+        private String name;
+
+        /**
+         * The profile rank
+         */
+        private Rank rank;
+
+        /**
+         * The profile level
+         */
+        private int level;
+
+        /**
+         * The profile creation date
+         */
+        private Instant created;
+
+        /**
+         * The profile friends
+         */
+        private ArrayList<String> friends = new ArrayList<>();
+
+        /**
+         * The profile settings
+         */
+        private LinkedHashMap<String, Object> settings = new LinkedHashMap<>();
+
+        /**
+         * Initialize an empty profile
+         */
+        public Profile() {
+        }
+
+        /**
+         * Initialize a profile
+         *
+         * @param number the profile number
+         */
+        Profile(final int number) {
+            this.id = UUID.randomUUID();
+            this.name = "Player" + number;
+            this.rank = (number % 2 == 0 ? Rank.MEMBER : Rank.STAFF);
+            this.level = number * 7;
+            this.created = Instant.now();
+            for (int i = 0; i < 5; i++)
+                this.friends.add("Friend" + i);
+            this.settings.put("chat", true);
+            this.settings.put("volume", 0.75);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package ml.karmaconfigs.api;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import ml.karmaconfigs.api.common.utils.string.StringUtils;
+
+import java.util.HashSet;
+import java.util.function.UnaryOperator;
+
+/**
+ * Karma color benchmark class, compares the color
+ * translator with the previous replace based
+ * implementation
+ */
+public final class ColorBenchmark {
+
+    /**
+     * The texts translated per measurement
+     */
+    private final static int OPERATIONS = 1000000;
+
+    /**
+     * The measurements run before the measured ones
+     */
+    private final static int WARMUP = 5;
+
+    /**
+     * The benchmark text, a typical console line
+     */
+    private final static String TEXT = "&7[&bKarmaAPI&7] &aLoaded &e12 &amodules in &f35ms&r, &cAT&T &7compatible";
+
+    /**
+     * A value the benchmark results are added to, so
+     * the measured code is not removed
+     */
+    private static long sink;
+
+    /**
+     * Main initializer
+     *
+     * @param args the launch arguments
+     */
+    public static void main(final String[] args) {
+        measure("toColor legacy", Legacy::toColor);
+        measure("toColor", StringUtils::toColor);
+        measure("toConsoleColor legacy", Legacy::toConsoleColor);
+        measure("toConsoleColor", StringUtils::toConsoleColor);
+        measure("stripColor legacy", Legacy::stripColor);
+        measure("stripColor", StringUtils::stripColor);
+
+        System.out.println("(" + sink + ")");
+        System.exit(0);
+    }
+
+    /**
+     * Measure a translation
+     *
+     * @param name the translation name
+     * @param translation the translation
+     */
+    private static void measure(final String name, final UnaryOperator<String> translation) {
+        for (int i = 0; i < WARMUP; i++)
+            run(translation);
+
+        long start = System.nanoTime();
+        run(translation);
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%-25s %10.2f ms %14.0f ops/s%n", name, elapsed / 1e6, OPERATIONS / (elapsed / 1e9));
+    }
+
+    /**
+     * Run a translation
+     *
+     * @param translation the translation
+     */
+    private static void run(final UnaryOperator<String> translation) {
+        for (int i = 0; i < OPERATIONS; i++)
+            sink += translation.apply(TEXT).length();
+    }
+
+    /**
+     * The previous color implementation, which collects the
+     * codes and replaces each of them in the whole text
+     */
+    private final static class Legacy {
+
+        /**
+         * Collect the color codes of a text
+         *
+         * @param text the text
+         * @param section if section codes are collected too
+         * @return the text color codes
+         */
+        private static HashSet<String> codes(final String text, final boolean section) {
+            HashSet<String> color_codes = new HashSet<>();
+            for (int i = 0; i < text.length(); i++) {
+                char curr = text.charAt(i);
+                char next = Character.MIN_VALUE;
+                if (i + 1 != text.length())
+                    next = text.charAt(i + 1);
+                if (next != '\000' && !Character.isSpaceChar(next) && (curr == '&' || (section && curr == '\u00A7')))
+                    color_codes.add(String.valueOf(curr).replace("\u00A7", "&") + next);
+            }
+            return color_codes;
+        }
+
+        /**
+         * Translate the color codes of a text
+         *
+         * @param text the text
+         * @return the colored text
+         */
+        static String toColor(final String text) {
+            String str = text;
+            for (String color_code : codes(text, false))
+                str = str.replace(color_code, color_code.replace('&', '\u00A7'));
+            return str;
+        }
+
+        /**
+         * Translate the color codes of a text to console colors
+         *
+         * @param text the text
+         * @return the console colored text
+         */
+        static String toConsoleColor(final String text) {
+            String str = text;
+            for (String color_code : codes(text, true)) {
+                String tmp_color = "\033[0m";
+                switch (color_code.toLowerCase()) {
+                    case "&0":
+                        tmp_color = "\033[0;30m";
+                        break;
+                    case "&1":
+                        tmp_color = "\033[0;34m";
+                        break;
+                    case "&2":
+                        tmp_color = "\033[0;32m";
+                        break;
+                    case "&3":
+                        tmp_color = "\033[0;36m";
+                        break;
+                    case "&4":
+                        tmp_color = "\033[0;31m";
+                        break;
+                    case "&5":
+                        tmp_color = "\033[0;35m";
+                        break;
+                    case "&6":
+                        tmp_color = "\033[0;33m";
+                        break;
+                    case "&7":
+                        tmp_color = "\033[0;37m";
+                        break;
+                    case "&8":
+                        tmp_color = "\033[0;90m";
+                        break;
+                    case "&9":
+                        tmp_color = "\033[0;94m";
+                        break;
+                    case "&a":
+                        tmp_color = "\033[0;92m";
+                        break;
+                    case "&b":
+                        tmp_color = "\033[0;96m";
+                        break;
+                    case "&c":
+                        tmp_color = "\033[0;91m";
+                        break;
+                    case "&d":
+                        tmp_color = "\033[0;95m";
+                        break;
+                    case "&e":
+                        tmp_color = "\033[0;93m";
+                        break;
+                    case "&f":
+                        tmp_color = "\033[0;97m";
+                        break;
+                    case "&r":
+                        tmp_color = "\033[0m";
+                        break;
+                }
+                str = str.replace(color_code, tmp_color);
+            }
+            return str;
+        }
+
+        /**
+         * Remove the color codes of a text
+         *
+         * @param text the text
+         * @return the text without color codes
+         */
+        static String stripColor(final String text) {
+            String str = text;
+            for (String color_code : codes(text, true))
+                str = str.replace(color_code, "");
+            return str;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package ml.karmaconfigs.api;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import ml.karmaconfigs.api.common.Logger;
+import ml.karmaconfigs.api.common.karma.APISource;
+import ml.karmaconfigs.api.common.utils.enums.Level;
+
+/**
+ * Karma logger benchmark class, measures how long
+ * logging and writing 100k lines takes
+ */
+public final class LoggerBenchmark {
+
+    /**
+     * The lines logged per measurement
+     */
+    private final static int LINES = 100000;
+
+    /**
+     * The measurements run before the measured ones
+     */
+    private final static int WARMUP = 3;
+
+    /**
+     * Main initializer
+     *
+     * @param args the launch arguments
+     */
+    public static void main(final String[] args) {
+        APISource.getSource();
+        Logger logger = new Logger(new Source());
+
+        for (int i = 0; i < WARMUP; i++)
+            log(logger);
+
+        long start = System.nanoTime();
+        log(logger);
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%d lines logged and written in %.2f ms (%.0f lines/s)%n", LINES, elapsed / 1e6, LINES / (elapsed / 1e9));
+        System.exit(0);
+    }
+
+    /**
+     * Log the benchmark lines and wait for
+     * them to be written
+     *
+     * @param logger the logger
+     */
+    private static void log(final Logger logger) {
+        for (int i = 0; i < LINES; i++)
+            logger.scheduleLog(Level.INFO, "Benchmark line {0} of {1}", i, LINES);
+        Logger.flush();
+    }
+}
@@ -0,0 +1,139 @@
+package ml.karmaconfigs.api;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import ml.karmaconfigs.api.common.karma.APISource;
+import ml.karmaconfigs.api.common.utils.enums.TokenEncoding;
+import ml.karmaconfigs.api.common.utils.token.TokenGenerator;
+import ml.karmaconfigs.api.common.utils.token.TokenStorage;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Karma token benchmark class, measures the token
+ * generation and storage throughput
+ */
+public final class TokenBenchmark {
+
+    /**
+     * The tokens generated per measurement
+     */
+    private final static int GENERATED = 200000;
+
+    /**
+     * The tokens stored per measurement
+     */
+    private final static int STORED = 200;
+
+    /**
+     * The measurements run before the measured ones
+     */
+    private final static int WARMUP = 3;
+
+    /**
+     * The tokens password
+     */
+    private final static String PASSWORD = "benchmark password";
+
+    /**
+     * A value the benchmark results are added to, so
+     * the measured code is not removed
+     */
+    private static long sink;
+
+    /**
+     * Main initializer
+     *
+     * @param args the launch arguments
+     * @throws Exception if the benchmark fails
+     */
+    public static void main(final String[] args) throws Exception {
+        APISource.getSource();
+        TokenStorage storage = new TokenStorage(new Source());
+
+        for (TokenEncoding encoding : TokenEncoding.values()) {
+            measure("generateToken " + encoding, GENERATED, () -> {
+                for (int i = 0; i < GENERATED; i++)
+                    sink += TokenGenerator.generateToken(TokenGenerator.DEFAULT_LENGTH, encoding).length();
+            });
+            measure("generateTokens " + encoding, GENERATED, () -> sink += TokenGenerator.generateTokens(GENERATED, TokenGenerator.DEFAULT_LENGTH, encoding).size());
+        }
+
+        List<String> tokens = TokenGenerator.generateTokens(STORED);
+        measure("store + load", STORED, () -> {
+            for (String token : tokens)
+                sink += storage.load(storage.store(token, PASSWORD, null), PASSWORD).length();
+        });
+        measure("storeAllAsync + loadAllAsync", STORED, () -> {
+            Map<String, Instant> bulk = new LinkedHashMap<>();
+            for (String token : tokens)
+                bulk.put(token, null);
+
+            Map<String, UUID> ids = storage.storeAllAsync(bulk, PASSWORD).toCompletableFuture().get(1, TimeUnit.MINUTES);
+            sink += storage.loadAllAsync(ids.values(), PASSWORD).toCompletableFuture().get(1, TimeUnit.MINUTES).size();
+        });
+
+        System.out.println("(" + sink + ")");
+        System.exit(0);
+    }
+
+    /**
+     * Measure a task
+     *
+     * @param name the task name
+     * @param operations the operations the task runs
+     * @param task the task
+     * @throws Exception if the task fails
+     */
+    private static void measure(final String name, final int operations, final BenchmarkTask task) throws Exception {
+        for (int i = 0; i < WARMUP; i++)
+            task.run();
+
+        long start = System.nanoTime();
+        task.run();
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%-40s %10.2f ms %14.0f ops/s%n", name, elapsed / 1e6, operations / (elapsed / 1e9));
+    }
+
+    /**
+     * Karma benchmark task
+     */
+    private interface BenchmarkTask {
+
+        /**
+         * Run the task
+         *
+         * @throws Exception if the task fails
+         */
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,226 @@
+package ml.karmaconfigs.api;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import ml.karmaconfigs.api.common.karma.APISource;
+import ml.karmaconfigs.api.common.karma.KarmaSource;
+import ml.karmaconfigs.api.common.utils.enums.TokenEncoding;
+import ml.karmaconfigs.api.common.utils.token.TokenGenerator;
+import ml.karmaconfigs.api.common.utils.token.TokenStorage;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Karma token test class, checks that every token encoding
+ * survives a storage round trip and that tokens generated and
+ * stored from many threads at once stay unique and readable
+ */
+public final class TokenTest {
+
+    /**
+     * The stress test threads
+     */
+    private final static int THREADS = 16;
+
+    /**
+     * The tokens generated by each stress test thread
+     */
+    private final static int TOKENS = 50000;
+
+    /**
+     * The tokens stored by each stress test thread
+     */
+    private final static int STORED = 8;
+
+    /**
+     * The tokens password
+     */
+    private final static String PASSWORD = "test password";
+
+    /**
+     * Main initializer
+     *
+     * @param args the launch arguments
+     */
+    public static void main(final String[] args) {
+        int status = 0;
+        try {
+            APISource.getSource();
+            KarmaSource source = new Source();
+            TokenStorage storage = new TokenStorage(source);
+
+            roundTrip(storage);
+            generate();
+            store(storage);
+
+            System.out.println("Token test passed");
+        } catch (Throwable ex) {
+            ex.printStackTrace();
+            status = 1;
+        }
+
+        System.exit(status);
+    }
+
+    /**
+     * Store and load a token of every encoding, one
+     * by one, in bulk and asynchronously
+     *
+     * @param storage the token storage
+     * @throws Exception if the test fails
+     */
+    private static void roundTrip(final TokenStorage storage) throws Exception {
+        Instant expiration = Instant.now().plus(1, ChronoUnit.HOURS);
+        for (TokenEncoding encoding : TokenEncoding.values()) {
+            for (int length : new int[]{1, 3, 16, TokenGenerator.DEFAULT_LENGTH}) {
+                String token = TokenGenerator.generateToken(length, encoding);
+                UUID id = storage.store(token, PASSWORD, expiration);
+                check(token.equals(storage.load(id, PASSWORD)), encoding + " token of " + length + " bytes did not survive store/load");
+
+                String async = TokenGenerator.generateToken(length, encoding);
+                UUID asyncID = storage.storeAsync(async, PASSWORD, null).toCompletableFuture().get(10, TimeUnit.SECONDS);
+                check(async.equals(storage.loadAsync(asyncID, PASSWORD).toCompletableFuture().get(10, TimeUnit.SECONDS)), encoding + " token of " + length + " bytes did not survive storeAsync/loadAsync");
+            }
+
+            Map<String, Instant> tokens = new LinkedHashMap<>();
+            for (String token : TokenGenerator.generateTokens(4, TokenGenerator.DEFAULT_LENGTH, encoding))
+                tokens.put(token, expiration);
+
+            Map<String, UUID> ids = storage.storeAll(tokens, PASSWORD);
+            Map<UUID, String> loaded = storage.loadAll(ids.values(), PASSWORD);
+            for (Map.Entry<String, UUID> entry : ids.entrySet())
+                check(entry.getKey().equals(loaded.get(entry.getValue())), encoding + " token did not survive storeAll/loadAll");
+
+            Map<String, UUID> asyncIDs = storage.storeAllAsync(tokens, PASSWORD).toCompletableFuture().get(10, TimeUnit.SECONDS);
+            Map<UUID, String> asyncLoaded = storage.loadAllAsync(asyncIDs.values(), PASSWORD).toCompletableFuture().get(10, TimeUnit.SECONDS);
+            for (Map.Entry<String, UUID> entry : asyncIDs.entrySet())
+                check(entry.getKey().equals(asyncLoaded.get(entry.getValue())), encoding + " token did not survive storeAllAsync/loadAllAsync");
+        }
+    }
+
+    /**
+     * Generate tokens from many threads at once
+     * and check all of them are unique
+     *
+     * @throws Exception if the test fails
+     */
+    private static void generate() throws Exception {
+        Set<String> tokens = ConcurrentHashMap.newKeySet(THREADS * TOKENS);
+        run(thread -> {
+            TokenEncoding encoding = TokenEncoding.values()[thread % TokenEncoding.values().length];
+            for (int i = 0; i < TOKENS; i++) {
+                String token = TokenGenerator.generateToken(TokenGenerator.DEFAULT_LENGTH, encoding);
+                check(tokens.add(token), "Duplicated token " + token);
+            }
+        });
+        check(tokens.size() == THREADS * TOKENS, "Expected " + THREADS * TOKENS + " tokens, got " + tokens.size());
+    }
+
+    /**
+     * Store and load tokens from many threads at once
+     *
+     * @param storage the token storage
+     * @throws Exception if the test fails
+     */
+    private static void store(final TokenStorage storage) throws Exception {
+        run(thread -> {
+            List<String> tokens = TokenGenerator.generateTokens(STORED, TokenGenerator.DEFAULT_LENGTH, TokenEncoding.values()[thread % TokenEncoding.values().length]);
+            List<UUID> ids = new ArrayList<>(tokens.size());
+            for (String token : tokens)
+                ids.add(storage.store(token, PASSWORD, null));
+
+            for (int i = 0; i < tokens.size(); i++)
+                check(tokens.get(i).equals(storage.load(ids.get(i), PASSWORD)), "Token stored concurrently did not survive store/load");
+        });
+    }
+
+    /**
+     * Run a task in many threads at once
+     *
+     * @param task the task, which receives the thread number
+     * @throws Exception if the task fails in any thread
+     */
+    private static void run(final ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int thread = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.run(thread);
+                return null;
+            }));
+        }
+
+        start.countDown();
+        try {
+            for (Future<?> future : futures)
+                future.get(2, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Check a test condition
+     *
+     * @param condition the condition
+     * @param message the failure message
+     * @throws IllegalStateException if the condition is not met
+     */
+    private static void check(final boolean condition, final String message) throws IllegalStateException {
+        if (!condition)
+            throw new IllegalStateException(message);
+    }
+
+    /**
+     * Karma token test thread task
+     */
+    private interface ThreadTask {
+
+        /**
+         * Run the task
+         *
+         * @param thread the thread number
+         * @throws Exception if the task fails
+         */
+        void run(final int thread) throws Exception;
+    }
+}
@@ -0,0 +1,179 @@
+package ml.karmaconfigs.api;
+
+/*
+ * This file is part of KarmaAPI, licensed under the MIT License.
+ *
+ *  Copyright (c) karma (KarmaDev) <karmaconfigs@gmail.com>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import com.sun.net.httpserver.HttpServer;
+import ml.karmaconfigs.api.common.karma.APISource;
+import ml.karmaconfigs.api.common.karma.KarmaSource;
+import ml.karmaconfigs.api.common.version.UpdateService;
+import ml.karmaconfigs.api.common.version.VersionFetchResult;
+import ml.karmaconfigs.api.common.version.VersionUpdater;
+import ml.karmaconfigs.api.common.version.util.UpdateListener;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Karma version updater test class, serves an update
+ * file from a local server and checks that concurrent
+ * fetches are coalesced and unchanged files are reused
+ */
+public final class UpdaterTest {
+
+    /**
+     * The update file ETag
+     */
+    private final static String TAG = "\"v1\"";
+
+    /**
+     * The update file contents
+     */
+    private final static byte[] FILE = ("VERSION: 1.0.2\n" +
+            "UPDATE: https://example.org/download\n" +
+            "[LIST=CHANGELOG]\n" +
+            "Fixed a\n" +
+            "Fixed b\n" +
+            "[/LIST=CHANGELOG]\n").getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Main initializer
+     *
+     * @param args the launch arguments
+     * @throws Exception if the test fails
+     */
+    public static void main(final String[] args) throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        AtomicInteger unchanged = new AtomicInteger();
+        int status = 0;
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/test.kupdter", exchange -> {
+            requests.incrementAndGet();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException ignored) {}
+
+            if (TAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                unchanged.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                exchange.getResponseHeaders().add("ETag", TAG);
+                exchange.sendResponseHeaders(200, FILE.length);
+                exchange.getResponseBody().write(FILE);
+            }
+            exchange.close();
+        });
+        server.start();
+
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/test.kupdter";
+        KarmaSource source = new Source() {
+            @Override
+            public String name() {
+                return "UpdaterTest";
+            }
+
+            @Override
+            public String updateURL() {
+                return url;
+            }
+        };
+
+        try {
+            APISource.getSource();
+            Path cache = source.getDataPath().resolve("cache").resolve("update.cache");
+            Files.deleteIfExists(cache);
+
+            VersionUpdater updater = VersionUpdater.createNewBuilder(source).build();
+            List<CompletableFuture<VersionFetchResult>> fetches = new ArrayList<>();
+            for (int i = 0; i < 5; i++)
+                fetches.add(updater.fetch(true).toCompletableFuture());
+
+            for (CompletableFuture<VersionFetchResult> fetch : fetches)
+                check("1.0.2".equals(fetch.get(10, TimeUnit.SECONDS).getLatest()), "Unexpected latest version");
+            check(requests.get() == 1, "Expected 1 request for 5 concurrent fetches, got " + requests.get());
+
+            VersionFetchResult result = updater.fetch(true).toCompletableFuture().get(10, TimeUnit.SECONDS);
+            check(requests.get() == 2, "Expected a second request, got " + requests.get());
+            check(unchanged.get() == 1, "Expected a 304 response, got " + unchanged.get());
+            check("1.0.2".equals(result.getLatest()) && result.getChangelog().length == 2, "304 response did not reuse the last update file");
+            check(Files.exists(cache), "Update file was not persisted to " + cache);
+
+            AtomicInteger notified = new AtomicInteger();
+            AtomicReference<String> thread = new AtomicReference<>();
+            UpdateListener listener = (owner, previous, current) -> {
+                notified.incrementAndGet();
+                thread.set(Thread.currentThread().getName());
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException ignored) {}
+            };
+            UpdateService.addListener(listener);
+            UpdateService.register(source, updater);
+
+            int before = requests.get();
+            for (int i = 0; i < 10; i++) {
+                UpdateService.checkNow(source);
+                Thread.sleep(40);
+            }
+            Thread.sleep(1000);
+            UpdateService.unregister(source);
+            UpdateService.removeListener(listener);
+
+            check(requests.get() - before == 1, "Expected 1 service request for a running check, got " + (requests.get() - before));
+            check(notified.get() == 1, "Expected 1 service notification, got " + notified.get());
+            check(thread.get().startsWith("KarmaAPI-UpdateService-"), "Service check ran on " + thread.get());
+
+            System.out.println("Updater test passed");
+        } catch (Throwable ex) {
+            ex.printStackTrace();
+            status = 1;
+        } finally {
+            server.stop(0);
+        }
+
+        System.exit(status);
+    }
+
+    /**
+     * Check a test condition
+     *
+     * @param condition the condition
+     * @param message the failure message
+     * @throws IllegalStateException if the condition is not met
+     */
+    private static void check(final boolean condition, final String message) throws IllegalStateException {
+        if (!condition)
+            throw new IllegalStateException(message);
+    }
+}